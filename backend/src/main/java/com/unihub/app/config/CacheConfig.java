@@ -0,0 +1,22 @@
+package com.unihub.app.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Cache do catálogo público. O CacheManager (Caffeine) e suas métricas vêm da auto-configuração,
+ * a partir de {@code spring.cache.*}.
+ *
+ * <p>O interceptor de cache fica por fora do transacional: um acerto não abre transação nem pega conexão,
+ * e os {@code @CacheEvict} só rodam depois do commit, então uma leitura concorrente não recoloca no cache
+ * o estado anterior à escrita.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String CURSOS = "cursos";
+    public static final String CADEIRAS = "cadeiras";
+    public static final String CRITERIOS = "criterios";
+}
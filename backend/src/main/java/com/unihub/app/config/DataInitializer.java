@@ -2,6 +2,8 @@ package com.unihub.app.config;
 
 import com.unihub.app.entity.Curso;
 import com.unihub.app.repository.CursoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
@@ -13,6 +15,8 @@ import java.util.List;
 @Component
 public class DataInitializer implements CommandLineRunner {
 
+    private static final Logger logger = LoggerFactory.getLogger(DataInitializer.class);
+
     private final CursoRepository cursoRepository;
 
     @Autowired
@@ -33,7 +37,7 @@ public class DataInitializer implements CommandLineRunner {
             if (cursoRepository.findByNome(nome).isEmpty()) {
                 Curso curso = new Curso(nome);
                 cursoRepository.save(curso);
-                System.out.println("Created curso: " + nome);
+                logger.info("Curso criado: {}", nome);
             }
         }
     }
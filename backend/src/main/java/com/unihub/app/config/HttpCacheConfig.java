@@ -0,0 +1,23 @@
+package com.unihub.app.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * GET condicional para as listas do catálogo. Elas já saem do cache em memória (ver {@link CacheConfig}),
+ * então a ETag é o hash do próprio corpo: com If-None-Match igual a resposta vira 304 sem payload.
+ * Os detalhes do professor têm ETag própria, derivada das versões, calculada no controller.
+ */
+@Configuration
+public class HttpCacheConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> catalogoEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/api/cursos", "/api/cadeiras/all", "/api/criterios/all");
+        registration.setName("catalogoEtagFilter");
+        return registration;
+    }
+}
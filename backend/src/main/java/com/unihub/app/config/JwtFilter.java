@@ -1,17 +1,23 @@
 package com.unihub.app.config;
 
 
-import com.unihub.app.service.JwtService;
+import com.unihub.app.entity.ERole;
+import com.unihub.app.entity.UserPrincipal;
 import com.unihub.app.service.MyUserDetailsService;
+import com.unihub.app.service.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -22,50 +28,51 @@ import java.io.IOException;
 public class JwtFilter extends OncePerRequestFilter {
 
     @Autowired
-    private JwtService jwtService;
+    private VerifiedTokenCache verifiedTokenCache;
 
     @Autowired
     ApplicationContext context;
 
+    // Com o modo stateless, o principal é montado a partir das claims do token (userId, role, subject = email)
+    // e nenhuma consulta ao banco é feita por requisição.
+    @Value("${app.auth.stateless:true}")
+    private boolean stateless = true;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
 
         String authorizationHeader = request.getHeader("Authorization");
 
-        String token = null;
-
-        String username = null;
-
-        if(authorizationHeader != null && authorizationHeader.startsWith("Bearer ")){
-            token = authorizationHeader.substring(7);
-            username = jwtService.extractUserName(token);
-            System.out.println("Token: " + token);
-            System.out.println("Username: " + username);
-            System.out.println("Passei por aqui ");
-        }
-
-        System.out.println("Passei por aqui " + SecurityContextHolder.getContext().getAuthentication());
-
-        if(username != null && SecurityContextHolder.getContext().getAuthentication() == null){
-
-            UserDetails userDetails = context.getBean(MyUserDetailsService.class).loadUserByUsername(username);
+        if(authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null){
+            String token = authorizationHeader.substring(7);
 
-            System.out.println("UserDetails Authorithies: " + userDetails.getAuthorities());
-            System.out.println("UserDetails Password: " + userDetails.getPassword());
-            System.out.println("UserDetails Username: " + userDetails.getUsername());
-            System.out.println("UserDetails: " + userDetails.getAuthorities());
+            try {
+                // Assinatura e expiração são checadas pelo parser só na primeira vez que o token aparece;
+                // nas requisições seguintes as claims vêm do cache até o exp do token
+                Claims claims = verifiedTokenCache.verify(token);
+                UserDetails userDetails = buildPrincipal(claims);
 
-
-
-            if(jwtService.validateToken(token, userDetails)){
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
-
+            } catch (JwtException | IllegalArgumentException | UsernameNotFoundException e) {
+                // Token inválido, expirado ou de usuário inexistente: a requisição segue como anônima
+                SecurityContextHolder.clearContext();
             }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails buildPrincipal(Claims claims) {
+        Number userId = claims.get("userId", Number.class);
+        String role = claims.get("role", String.class);
+        if (stateless && userId != null && role != null) {
+            return UserPrincipal.fromClaims(userId.longValue(), claims.getSubject(), ERole.valueOf(role));
+        }
+        // Tokens sem as claims necessárias (ou modo stateless desligado) recorrem ao banco
+        return context.getBean(MyUserDetailsService.class).loadUserByUsername(claims.getSubject());
+    }
 }
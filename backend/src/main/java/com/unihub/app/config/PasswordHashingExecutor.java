@@ -0,0 +1,68 @@
+package com.unihub.app.config;
+
+import com.unihub.app.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Pool dedicado ao trabalho de BCrypt (login e cadastro), separado das threads do Tomcat.
+ * Com o pool e a fila cheios a tarefa é rejeitada na hora com 503, em vez de prender threads de requisição
+ * e atrasar os endpoints de leitura durante picos de login.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    public static final String METRIC_NAME = "password.hashing";
+
+    private final ThreadPoolExecutor executor;
+
+    public PasswordHashingExecutor(@Value("${app.security.hashing.threads:0}") int threads,
+                                   @Value("${app.security.hashing.queue-capacity:64}") int queueCapacity,
+                                   MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        // executor.queued, executor.active, executor.completed etc. com a tag name=password.hashing
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, METRIC_NAME);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> tarefa) {
+        // Leva o MDC (id de correlação) da thread da requisição para a thread do pool
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        Supplier<T> comMdc = () -> {
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try {
+                return tarefa.get();
+            } finally {
+                MDC.clear();
+            }
+        };
+        try {
+            return CompletableFuture.supplyAsync(comMdc, executor);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Servidor ocupado processando logins. Tente novamente em instantes.", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,54 @@
+package com.unihub.app.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Atribui um id de correlação a cada requisição (reaproveitando o header {@code X-Request-Id} quando válido),
+ * coloca-o no MDC para aparecer em todas as linhas de log e devolve-o na resposta.
+ * Com {@code logging.level.com.unihub.app.config.RequestCorrelationFilter=DEBUG} registra método, URI, status e duração.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestCorrelationFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Request-Id";
+    public static final String MDC_KEY = "requestId";
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestCorrelationFilter.class);
+    private static final Pattern ID_VALIDO = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String requestId = request.getHeader(HEADER);
+        if (requestId == null || !ID_VALIDO.matcher(requestId).matches()) {
+            requestId = UUID.randomUUID().toString();
+        }
+
+        long inicio = System.nanoTime();
+        MDC.put(MDC_KEY, requestId);
+        response.setHeader(HEADER, requestId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (logger.isDebugEnabled()) {
+                logger.debug("{} {} -> {} em {} ms", request.getMethod(), request.getRequestURI(),
+                        response.getStatus(), (System.nanoTime() - inicio) / 1_000_000);
+            }
+            MDC.remove(MDC_KEY);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.unihub.app.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Tarefas em segundo plano ({@code @Scheduled}), como o recálculo das notas gerais dos professores
+ * (ver {@link com.unihub.app.service.NotaGeralRecalculoQueue}).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
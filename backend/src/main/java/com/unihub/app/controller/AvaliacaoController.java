@@ -2,6 +2,8 @@ package com.unihub.app.controller;
 
 import com.unihub.app.dto.AvaliacaoPublicDto;
 import com.unihub.app.dto.AvaliacaoRequest;
+import com.unihub.app.dto.CriterioProfessorDetailDto;
+import com.unihub.app.dto.CursorPageDto;
 import com.unihub.app.dto.MessageResponse;
 import com.unihub.app.service.AvaliacaoService;
 import com.unihub.app.service.PublicQueryService;
@@ -56,6 +58,20 @@ public class AvaliacaoController {
         return ResponseEntity.ok(avaliacoes);
     }
 
+    @GetMapping("/professor/{professorId}/cadeira/{cadeiraId}/feed")
+    @Operation(summary = "Cursor feed of evaluations for a professor and cadeira (course)",
+               description = "Publicly accessible. Newest evaluations first. Pass the returned nextCursor to get the next page; there is no total count.")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved evaluations")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    public ResponseEntity<CursorPageDto<AvaliacaoPublicDto>> getAvaliacoesFeedByProfessorAndCadeira(
+            @PathVariable Long professorId,
+            @PathVariable Long cadeiraId,
+            @Parameter(description = "Academic period (e.g., 2023.1)") @RequestParam(required = false) String periodo,
+            @Parameter(description = "nextCursor from the previous page") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(avaliacaoService.getAvaliacoesPublicasFeed(professorId, cadeiraId, periodo, cursor, size));
+    }
+
     @GetMapping("/criterio/{criterioId}/professor/{professorId}")
     @Operation(summary = "Get criterion evaluation history for a professor",
                description = "Publicly accessible. Shows evaluation history and top comments for a specific criterion and professor.")
@@ -70,4 +86,16 @@ public class AvaliacaoController {
         Page<AvaliacaoPublicDto> history = publicQueryService.getCriterionEvaluationHistory(professorId, criterioId, periodo, pageable);
         return ResponseEntity.ok(history);
     }
-} 
\ No newline at end of file
+
+    @GetMapping("/criterio/{criterioId}/professor/{professorId}/detalhes")
+    @Operation(summary = "Get criterion details for a professor",
+               description = "Publicly accessible. Paginated grade history (with the comment given for the criterion) and the top comments for a specific criterion and professor.")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved criterion details")
+    @ApiResponse(responseCode = "404", description = "Professor or criterion not found")
+    public ResponseEntity<CriterioProfessorDetailDto> getCriterioProfessorDetails(
+            @PathVariable Long criterioId,
+            @PathVariable Long professorId,
+            @PageableDefault(size = 10) Pageable pageable) {
+        return ResponseEntity.ok(publicQueryService.getCriterioProfessorDetails(criterioId, professorId, pageable));
+    }
+}
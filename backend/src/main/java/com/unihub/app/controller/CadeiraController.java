@@ -13,10 +13,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -38,7 +40,10 @@ public class CadeiraController {
     @GetMapping("/all") // Endpoint para obter todas as cadeiras sem paginação
     @Operation(summary = "Lista todas as cadeiras (sem paginação)", description = "Retorna uma lista completa de todas as cadeiras, útil para dropdowns etc.")
     public ResponseEntity<List<CadeiraDto>> getAllCadeirasList() {
-        return ResponseEntity.ok(cadeiraService.getAllCadeirasList());
+        // Lista pública e raramente alterada: o proxy pode servi-la por alguns minutos (ETag pelo catalogoEtagFilter)
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(cadeiraService.getAllCadeirasList());
     }
 
     @GetMapping("/{id}")
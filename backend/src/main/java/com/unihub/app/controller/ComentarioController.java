@@ -2,6 +2,7 @@ package com.unihub.app.controller;
 
 import com.unihub.app.dto.ComentarioDto;
 import com.unihub.app.dto.ComentarioVoteRequest;
+import com.unihub.app.dto.CursorPageDto;
 import com.unihub.app.dto.MessageResponse;
 import com.unihub.app.service.ComentarioService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -53,6 +54,33 @@ public class ComentarioController {
         return ResponseEntity.ok(comentarios);
     }
 
+    @GetMapping("/professor/{professorId}/cadeira/{cadeiraId}/feed")
+    @Operation(summary = "Cursor feed of comments for a professor in a specific discipline",
+               description = "Same comments as the paginated listing, ordered by score, newest first. Pass the returned nextCursor to get the next page; there is no total count.")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved comments")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    public ResponseEntity<CursorPageDto<ComentarioDto>> getFeedPorProfessorECadeira(
+            @PathVariable Long professorId,
+            @PathVariable Long cadeiraId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(comentarioService.getFeedPorProfessorECadeira(professorId, cadeiraId, cursor, size));
+    }
+
+    @GetMapping("/professor/{professorId}/criterio/{criterioId}/feed")
+    @Operation(summary = "Cursor feed of comments for a professor by specific criterion",
+               description = "Ordered by score, newest first, optionally filtered by discipline. Pass the returned nextCursor to get the next page; there is no total count.")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved comments")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    public ResponseEntity<CursorPageDto<ComentarioDto>> getFeedPorCriterioEProfessor(
+            @PathVariable Long professorId,
+            @PathVariable Long criterioId,
+            @RequestParam(required = false) Long cadeiraId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(comentarioService.getFeedPorCriterioEProfessor(professorId, criterioId, cadeiraId, cursor, size));
+    }
+
     @PostMapping("/{comentarioId}/vote/up")
     @PreAuthorize("hasRole('USER')")
     @Operation(summary = "Upvote a comment", description = "User role required.",
@@ -81,6 +109,18 @@ public class ComentarioController {
         return ResponseEntity.ok(comentario);
     }
 
+    @DeleteMapping("/{comentarioId}/vote")
+    @PreAuthorize("hasRole('USER')")
+    @Operation(summary = "Retract a vote", description = "Removes the current user's vote on a comment. User role required.",
+               security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponse(responseCode = "200", description = "Vote retracted (or there was no vote)")
+    @ApiResponse(responseCode = "401", description = "Unauthorized")
+    @ApiResponse(responseCode = "404", description = "Comment not found")
+    public ResponseEntity<ComentarioDto> retractVote(@PathVariable Long comentarioId) {
+        ComentarioDto comentario = comentarioService.retractVote(comentarioId);
+        return ResponseEntity.ok(comentario);
+    }
+
     // GET endpoints for comments are typically part of Avaliacao or Professor responses
     // to provide context. If standalone comment fetching is needed, it can be added here.
 }
\ No newline at end of file
@@ -12,10 +12,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -36,7 +38,10 @@ public class CriterioController {
     @GetMapping("/all")
     @Operation(summary = "Lista todos os critérios (sem paginação)", description = "Retorna uma lista completa de todos os critérios de avaliação, útil para dropdowns.")
     public ResponseEntity<List<CriterioDto>> getAllCriteriosList() {
-        return ResponseEntity.ok(criterioService.getAllCriteriosList());
+        // Lista pública e raramente alterada: o proxy pode servi-la por alguns minutos (ETag pelo catalogoEtagFilter)
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(criterioService.getAllCriteriosList());
     }
 
     @GetMapping("/{id}")
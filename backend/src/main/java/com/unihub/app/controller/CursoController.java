@@ -5,6 +5,7 @@ import com.unihub.app.service.CursoService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -27,7 +28,10 @@ public class CursoController {
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')") // Allow USER to list Cursos for Cadeira creation form
     public ResponseEntity<List<CursoDto>> getAllCursos() {
         List<CursoDto> cursos = cursoService.getAllCursos();
-        return ResponseEntity.ok(cursos);
+        // Exige autenticação: só o navegador guarda, sempre revalidando pela ETag (catalogoEtagFilter)
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(cursos);
     }
 
     @GetMapping("/{id}")
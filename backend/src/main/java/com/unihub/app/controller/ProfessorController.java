@@ -14,11 +14,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.util.List;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -27,6 +30,9 @@ import java.util.List;
 @Tag(name = "Professores", description = "Endpoints for managing professors")
 public class ProfessorController {
 
+    // Público: o proxy pode servir por alguns segundos e depois revalidar com If-None-Match
+    private static final CacheControl CACHE_DETALHES = CacheControl.maxAge(Duration.ofSeconds(30)).cachePublic();
+
     @Autowired
     private ProfessorService professorService;
 
@@ -43,11 +49,16 @@ public class ProfessorController {
     }
 
     @GetMapping("/top")
-    @Operation(summary = "Get top X professors", description = "Publicly accessible. Returns a list of top-rated professors.")
+    @Operation(summary = "Get top X professors", description = "Publicly accessible. Returns a list of top-rated professors, overall or within a curso or periodo. " +
+               "In 'ponderada' mode professors are ranked by a Bayesian average, so a few reviews do not outrank many.")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved top professors")
+    @ApiResponse(responseCode = "400", description = "Invalid mode, or both cursoId and periodo given")
     public ResponseEntity<List<ProfessorPublicDto>> getTopProfessores(
-            @Parameter(description = "Number of top professors to return, default 5") @RequestParam(defaultValue = "5") int limit) {
-        List<ProfessorPublicDto> topProfessores = professorService.getTopProfessores(limit);
+            @Parameter(description = "Number of top professors to return, default 5") @RequestParam(defaultValue = "5") int limit,
+            @Parameter(description = "Rank only within this curso") @RequestParam(required = false) Long cursoId,
+            @Parameter(description = "Rank only within this academic period, e.g., '2023.1'") @RequestParam(required = false) String periodo,
+            @Parameter(description = "Ranking mode: 'nota' (default) or 'ponderada'") @RequestParam(required = false) String modo) {
+        List<ProfessorPublicDto> topProfessores = professorService.getTopProfessores(limit, cursoId, periodo, modo);
         return ResponseEntity.ok(topProfessores);
     }
 
@@ -64,10 +75,16 @@ public class ProfessorController {
     @GetMapping("/{id}")
     @Operation(summary = "Get professor details by ID", description = "Publicly accessible. Includes detailed information, average grade per criterion, and top comments.")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved professor details")
+    @ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match")
     @ApiResponse(responseCode = "404", description = "Professor not found")
-    public ResponseEntity<ProfessorDetailDto> getProfessorById(@PathVariable Long id) {
+    public ResponseEntity<ProfessorDetailDto> getProfessorById(@PathVariable Long id, WebRequest webRequest) {
+        // A ETag vem de uma consulta de versão; com If-None-Match igual, os agregados nem são calculados
+        String etag = professorService.getProfessorDetailsEtag(id);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CACHE_DETALHES).build();
+        }
         ProfessorDetailDto professorDetailDto = professorService.getProfessorDetails(id);
-        return ResponseEntity.ok(professorDetailDto);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CACHE_DETALHES).body(professorDetailDto);
     }
 
     @PostMapping
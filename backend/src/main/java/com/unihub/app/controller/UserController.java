@@ -1,5 +1,6 @@
 package com.unihub.app.controller;
 
+import com.unihub.app.config.PasswordHashingExecutor;
 import com.unihub.app.dto.*;
 import com.unihub.app.entity.ERole;
 import com.unihub.app.entity.User;
@@ -8,6 +9,8 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +18,8 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -23,25 +28,35 @@ import java.util.List;
 @SecurityRequirement(name = "bearerAuth") // Indica que os endpoints aqui requerem autenticação Bearer
 public class UserController {
 
+    private static final Logger logger = LoggerFactory.getLogger(UserController.class);
+
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    // Cadastro e login rodam o BCrypt no pool dedicado; a thread do Tomcat fica livre enquanto isso
+    // e, com o pool saturado, a requisição é recusada com 503.
     @PostMapping("/register") // POST /manguetrip/api/users
-    public ResponseEntity<UserDto> createUser(@RequestBody RegisterRequest requestDTO) {
-        try {
-            UserDto newUser = userService.save(requestDTO);
-            return ResponseEntity.status(HttpStatus.CREATED).body(newUser);
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().body(null); // Return 400 for business logic errors
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
-        }
+    public CompletableFuture<ResponseEntity<UserDto>> createUser(@RequestBody RegisterRequest requestDTO) {
+        return passwordHashingExecutor.submit(() -> userService.save(requestDTO))
+                .handle((newUser, e) -> {
+                    if (e == null) {
+                        return ResponseEntity.status(HttpStatus.CREATED).body(newUser);
+                    }
+                    Throwable causa = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (causa instanceof IllegalArgumentException) {
+                        return ResponseEntity.<UserDto>badRequest().body(null); // Return 400 for business logic errors
+                    }
+                    return ResponseEntity.<UserDto>status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+                });
     }
 
     @PostMapping("/login")
-    public String login(@RequestBody LoginRequest requestDTO) {
-        System.out.println(requestDTO);
-        return userService.verify(requestDTO);
+    public CompletableFuture<String> login(@RequestBody LoginRequest requestDTO) {
+        logger.debug("Tentativa de login para {}", requestDTO.getUsername());
+        return passwordHashingExecutor.submit(() -> userService.verify(requestDTO));
     }
 
     @GetMapping
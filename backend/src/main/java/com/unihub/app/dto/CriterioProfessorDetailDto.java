@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.springframework.data.domain.Page;
 
 import java.util.List;
 
@@ -16,6 +17,6 @@ public class CriterioProfessorDetailDto {
     private String criterioNome;
     private Long professorId;
     private String professorNome;
-    private List<HistoricoAvaliacaoCriterioDto> historicoAvaliacoes;
+    private Page<HistoricoAvaliacaoCriterioDto> historicoAvaliacoes;
     private List<ComentarioSimplificadoDto> principaisComentarios;
 } 
\ No newline at end of file
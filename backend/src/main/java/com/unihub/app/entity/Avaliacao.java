@@ -17,15 +17,20 @@ import java.util.Set;
 @Entity
 @Table(name = "avaliacoes",
     uniqueConstraints = {
-        @UniqueConstraint(columnNames = {"usuario_id", "professor_id", "cadeira_id", "periodo"})
+        @UniqueConstraint(name = Avaliacao.UK_AVALIACAO_POR_PERIODO, columnNames = {"usuario_id", "professor_id", "cadeira_id", "periodo"})
     })
 @Getter
 @Setter
 @NoArgsConstructor
 public class Avaliacao {
 
+    // Uma avaliação por usuário, professor, cadeira e período; createAvaliacao traduz a violação em erro de negócio
+    public static final String UK_AVALIACAO_POR_PERIODO = "uk_avaliacoes_usuario_professor_cadeira_periodo";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence com alocação em blocos de 50: os ids saem sem ida ao banco e os inserts da avaliação vão em lote
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "avaliacoes_seq")
+    @SequenceGenerator(name = "avaliacoes_seq", sequenceName = "avaliacoes_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -0,0 +1,43 @@
+package com.unihub.app.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Quantidade de avaliações recebidas por um professor em uma cadeira. Mantida incrementalmente a cada
+ * avaliação, junto com os {@link NotaRollup}, para que o total por cadeira não precise contar o histórico.
+ */
+@Entity
+@Table(name = "avaliacao_rollups",
+    uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"professor_id", "cadeira_id"})
+    })
+@Getter
+@Setter
+@NoArgsConstructor
+public class AvaliacaoRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "professor_id", nullable = false)
+    private Professor professor;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "cadeira_id", nullable = false)
+    private Cadeira cadeira;
+
+    @Column(name = "total_avaliacoes", nullable = false)
+    private Long totalAvaliacoes = 0L;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 public class Comentario {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comentarios_seq")
+    @SequenceGenerator(name = "comentarios_seq", sequenceName = "comentarios_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -39,6 +40,19 @@ public class Comentario {
     @Column(name = "votos_negativos", nullable = false)
     private Integer votosNegativos = 0;
 
+    // votosPositivos - votosNegativos, mantido junto com os votos por ComentarioRepository.incrementarVotos
+    // para que as listagens ordenadas por score leiam direto do índice
+    @Column(name = "score", nullable = false)
+    private Integer score = 0;
+
+    // Cópias de avaliacao.professor e avaliacao.cadeira (imutáveis na avaliação), para filtrar e ordenar
+    // os comentários de um professor pelo índice sem passar por avaliacoes
+    @Column(name = "professor_id", nullable = false, updatable = false)
+    private Long professorId;
+
+    @Column(name = "cadeira_id", nullable = false, updatable = false)
+    private Long cadeiraId;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -53,9 +67,18 @@ public class Comentario {
         this.criterio = criterio;
         this.votosPositivos = 0;
         this.votosNegativos = 0;
+        this.score = 0;
     }
 
-    public int getScore() {
-        return votosPositivos - votosNegativos;
+    @PrePersist
+    private void prepararInsercao() {
+        // Depois de inserido, o score só muda junto com os votos, no UPDATE de incrementarVotos
+        score = votosPositivos - votosNegativos;
+        if (professorId == null) {
+            professorId = avaliacao.getProfessor().getId();
+        }
+        if (cadeiraId == null) {
+            cadeiraId = avaliacao.getCadeira().getId();
+        }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.unihub.app.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Voto de um usuário em um comentário. A chave (usuario, comentario) garante no máximo um voto por usuário.
+ */
+@Entity
+@Table(name = "comentario_votos")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ComentarioVoto {
+
+    @EmbeddedId
+    private ComentarioVotoId id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private EVoteType tipo;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
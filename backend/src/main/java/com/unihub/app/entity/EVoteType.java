@@ -0,0 +1,6 @@
+package com.unihub.app.entity;
+
+public enum EVoteType {
+    UPVOTE,
+    DOWNVOTE
+}
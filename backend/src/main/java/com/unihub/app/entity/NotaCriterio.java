@@ -19,7 +19,8 @@ import lombok.Setter;
 public class NotaCriterio {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "nota_criterios_seq")
+    @SequenceGenerator(name = "nota_criterios_seq", sequenceName = "nota_criterios_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,57 @@
+package com.unihub.app.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Soma e quantidade das notas recebidas por um professor, por cadeira, critério e período.
+ * Mantida incrementalmente a cada avaliação para que as médias não precisem varrer o histórico de notas.
+ */
+@Entity
+@Table(name = "nota_rollups",
+    uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"professor_id", "cadeira_id", "criterio_id", "periodo"})
+    })
+@Getter
+@Setter
+@NoArgsConstructor
+public class NotaRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "professor_id", nullable = false)
+    private Professor professor;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "cadeira_id", nullable = false)
+    private Cadeira cadeira;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "criterio_id", nullable = false)
+    private Criterio criterio;
+
+    @NotBlank
+    @Size(max = 10)
+    @Column(nullable = false, length = 10)
+    private String periodo;
+
+    @Column(name = "soma_notas", nullable = false)
+    private Long somaNotas = 0L;
+
+    @Column(name = "total_notas", nullable = false)
+    private Long totalNotas = 0L;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,45 @@
+package com.unihub.app.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Comentário de maior score de um professor em um critério. Mantido pelos votos e pelas novas avaliações
+ * (ver {@link com.unihub.app.repository.TopComentarioRepository}) para que a página do professor não precise
+ * ranquear os comentários a cada leitura.
+ */
+@Entity
+@Table(name = "top_comentarios",
+    uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"professor_id", "criterio_id"})
+    })
+@Getter
+@Setter
+@NoArgsConstructor
+public class TopComentario {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "professor_id", nullable = false)
+    private Professor professor;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "criterio_id", nullable = false)
+    private Criterio criterio;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "comentario_id", nullable = false)
+    private Comentario comentario;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -10,10 +10,27 @@ import java.util.Collections;
 
 public class UserPrincipal implements UserDetails {
 
-    private User user;
+    private final Long id;
+    private final String email;
+    private final String password;
+    private final ERole role;
 
     public UserPrincipal(User user) {
-        this.user = user;
+        this(user.getId(), user.getEmail(), user.getPassword(), user.getRole());
+    }
+
+    private UserPrincipal(Long id, String email, String password, ERole role) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.role = role != null ? role : ERole.ROLE_USER;
+    }
+
+    /**
+     * Principal montado apenas a partir das claims de um token já verificado, sem consultar o banco.
+     */
+    public static UserPrincipal fromClaims(Long id, String email, ERole role) {
+        return new UserPrincipal(id, email, null, role);
     }
 
     @Override
@@ -23,16 +40,24 @@ public class UserPrincipal implements UserDetails {
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
-        return user.getEmail();
+        return email;
     }
 
     public String getEmail() {
-        return user.getEmail();
+        return email;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public ERole getRole() {
+        return role;
     }
 
     @Override
@@ -1,6 +1,8 @@
 package com.unihub.app.repository;
 
 import com.unihub.app.entity.Avaliacao;
+import com.unihub.app.repository.projection.AvaliacaoFeedView;
+import com.unihub.app.repository.projection.HistoricoCriterioView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,57 +10,85 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
 public interface AvaliacaoRepository extends JpaRepository<Avaliacao, Long> {
 
-    Optional<Avaliacao> findByUserIdAndProfessorIdAndCadeiraIdAndPeriodo(Long userId, Long professorId, Long cadeiraId, String periodo);
-
     List<Avaliacao> findByProfessorIdAndCadeiraIdAndPeriodo(Long professorId, Long cadeiraId, String periodo);
 
-    Page<Avaliacao> findByProfessorIdAndCadeiraIdAndPeriodo(Long professorId, Long cadeiraId, String periodo, Pageable pageable);
-
     List<Avaliacao> findByProfessorId(Long professorId);
 
-    // Query to find evaluations for a specific professor that contain a grade for a specific criterion
-    @Query("SELECT DISTINCT a FROM Avaliacao a JOIN a.notasCriterio nc WHERE a.professor.id = :professorId AND nc.criterio.id = :criterioId")
-    Page<Avaliacao> findAvaliacoesByProfessorAndCriterio(
+    // Listagens públicas em duas fases: primeiro só os ids da página, depois as avaliações e seus filhos
+    // em lote (ver AvaliacaoPublicaService)
+    @Query("SELECT a.id FROM Avaliacao a WHERE a.professor.id = :professorId AND a.cadeira.id = :cadeiraId")
+    Page<Long> findIdsByProfessorAndCadeira(
+            @Param("professorId") Long professorId,
+            @Param("cadeiraId") Long cadeiraId,
+            Pageable pageable
+    );
+
+    @Query("SELECT a.id FROM Avaliacao a WHERE a.professor.id = :professorId AND a.cadeira.id = :cadeiraId AND a.periodo = :periodo")
+    Page<Long> findIdsByProfessorAndCadeiraAndPeriodo(
+            @Param("professorId") Long professorId,
+            @Param("cadeiraId") Long cadeiraId,
+            @Param("periodo") String periodo,
+            Pageable pageable
+    );
+
+    // Avaliações de um professor que têm nota para um critério
+    @Query("SELECT a.id FROM Avaliacao a WHERE a.professor.id = :professorId " +
+           "AND EXISTS (SELECT 1 FROM NotaCriterio nc WHERE nc.avaliacao = a AND nc.criterio.id = :criterioId)")
+    Page<Long> findIdsByProfessorAndCriterio(
             @Param("professorId") Long professorId,
             @Param("criterioId") Long criterioId,
             Pageable pageable
     );
-    
-    // Query to find evaluations for a specific professor, criterion, and periodo
-    @Query("SELECT DISTINCT a FROM Avaliacao a JOIN a.notasCriterio nc WHERE a.professor.id = :professorId AND nc.criterio.id = :criterioId AND a.periodo = :periodo")
-    Page<Avaliacao> findAvaliacoesByProfessorAndCriterioAndPeriodo(
+
+    @Query("SELECT a.id FROM Avaliacao a WHERE a.professor.id = :professorId AND a.periodo = :periodo " +
+           "AND EXISTS (SELECT 1 FROM NotaCriterio nc WHERE nc.avaliacao = a AND nc.criterio.id = :criterioId)")
+    Page<Long> findIdsByProfessorAndCriterioAndPeriodo(
             @Param("professorId") Long professorId,
             @Param("criterioId") Long criterioId,
             @Param("periodo") String periodo,
             Pageable pageable
     );
 
-    // Query para calcular a média de notas de um critério para um professor específico
-    @Query("SELECT AVG(nc.nota) FROM NotaCriterio nc " +
-           "JOIN nc.avaliacao a " +
-           "WHERE a.professor.id = :professorId AND nc.criterio.id = :criterioId")
-    Double findAverageNotaForCriterioByProfessor(@Param("professorId") Long professorId, @Param("criterioId") Long criterioId);
-
-    // Query para buscar avaliações de um professor em uma cadeira para um período
-    @Query("SELECT a FROM Avaliacao a WHERE a.professor.id = :professorId AND a.cadeira.id = :cadeiraId AND a.periodo = :periodo")
-    List<Avaliacao> findAvaliacoesByProfessorCadeiraPeriodo(
+    // Feed por cursor: seek a partir da última posição entregue em (dataAvaliacao, id), sem contagem
+    @Query("SELECT a.id AS id, a.dataAvaliacao AS dataAvaliacao FROM Avaliacao a " +
+           "WHERE a.professor.id = :professorId AND a.cadeira.id = :cadeiraId " +
+           "AND (:periodo IS NULL OR a.periodo = :periodo) " +
+           "AND (a.dataAvaliacao, a.id) < (:dataAvaliacao, :id) " +
+           "ORDER BY a.dataAvaliacao DESC, a.id DESC")
+    List<AvaliacaoFeedView> findFeedByProfessorAndCadeira(
             @Param("professorId") Long professorId,
             @Param("cadeiraId") Long cadeiraId,
-            @Param("periodo") String periodo
+            @Param("periodo") String periodo,
+            @Param("dataAvaliacao") LocalDateTime dataAvaliacao,
+            @Param("id") long id,
+            Pageable pageable
     );
 
-    // Query para histórico de avaliações de um critério específico para um professor
-    @Query("SELECT nc FROM NotaCriterio nc JOIN nc.avaliacao a " +
-           "WHERE a.professor.id = :professorId AND nc.criterio.id = :criterioId ORDER BY a.dataAvaliacao DESC")
-    List<Object[]> findHistoricoAvaliacoesCriterioProfessor(
+    @Query("SELECT a FROM Avaliacao a JOIN FETCH a.professor JOIN FETCH a.cadeira WHERE a.id IN :ids")
+    List<Avaliacao> findAllWithProfessorAndCadeiraByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Histórico paginado de um critério para um professor: uma linha por nota, com o comentário da mesma
+    // avaliação e critério (o de menor id, caso haja mais de um), sem carregar as entidades
+    @Query(value = "SELECT a.id AS avaliacaoId, a.periodo AS periodo, nc.nota AS nota, " +
+                   "c.id AS comentarioId, c.texto AS comentarioTexto, c.score AS comentarioScore " +
+                   "FROM NotaCriterio nc JOIN nc.avaliacao a " +
+                   "LEFT JOIN Comentario c ON c.avaliacao = a AND c.criterio = nc.criterio " +
+                   "AND c.id = (SELECT MIN(c2.id) FROM Comentario c2 WHERE c2.avaliacao = a AND c2.criterio = nc.criterio) " +
+                   "WHERE a.professor.id = :professorId AND nc.criterio.id = :criterioId " +
+                   "ORDER BY a.periodo DESC, a.id DESC",
+           countQuery = "SELECT COUNT(nc) FROM NotaCriterio nc JOIN nc.avaliacao a " +
+                        "WHERE a.professor.id = :professorId AND nc.criterio.id = :criterioId")
+    Page<HistoricoCriterioView> findHistoricoAvaliacoesCriterioProfessor(
             @Param("professorId") Long professorId,
-            @Param("criterioId") Long criterioId
+            @Param("criterioId") Long criterioId,
+            Pageable pageable
     );
 
 } 
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.unihub.app.repository;
+
+import com.unihub.app.entity.AvaliacaoRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AvaliacaoRollupRepository extends JpaRepository<AvaliacaoRollup, Long> {
+
+    // Conta uma avaliação recém-inserida no total do professor na cadeira (uma linha, criada na primeira avaliação)
+    @Modifying
+    @Query(value = "INSERT INTO avaliacao_rollups (professor_id, cadeira_id, total_avaliacoes, updated_at) " +
+                   "SELECT a.professor_id, a.cadeira_id, 1, CURRENT_TIMESTAMP FROM avaliacoes a WHERE a.id = :avaliacaoId " +
+                   "ON CONFLICT (professor_id, cadeira_id) DO UPDATE SET " +
+                   "total_avaliacoes = avaliacao_rollups.total_avaliacoes + 1, " +
+                   "updated_at = EXCLUDED.updated_at",
+           nativeQuery = true)
+    int acumularAvaliacao(@Param("avaliacaoId") Long avaliacaoId);
+}
@@ -1,82 +1,140 @@
 package com.unihub.app.repository;
 
 import com.unihub.app.entity.Comentario;
+import com.unihub.app.repository.projection.ComentarioPrincipalView;
+import com.unihub.app.repository.projection.ComentarioView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ComentarioRepository extends JpaRepository<Comentario, Long> {
+
+    // Campos de ComentarioView; as consultas que o usam completam com WHERE/ORDER BY
+    String SELECT_VIEW = "SELECT c.id AS id, c.texto AS texto, av.id AS avaliacaoId, cr.id AS criterioId, cr.nome AS criterioNome, " +
+           "ca.nome AS cadeiraNome, c.votosPositivos AS votosPositivos, c.votosNegativos AS votosNegativos, c.score AS score, c.createdAt AS createdAt " +
+           "FROM Comentario c JOIN c.avaliacao av JOIN c.criterio cr JOIN av.cadeira ca ";
+
     List<Comentario> findByAvaliacaoId(Long avaliacaoId);
 
+    // Comentários de uma página inteira de avaliações, já com o critério
+    @Query("SELECT c FROM Comentario c JOIN FETCH c.criterio WHERE c.avaliacao.id IN :avaliacaoIds")
+    List<Comentario> findWithCriterioByAvaliacaoIdIn(@Param("avaliacaoIds") Collection<Long> avaliacaoIds);
+
+    // Incremento atômico dos votos no próprio banco, sem carregar a entidade (não perde votos concorrentes)
+    @Modifying
+    @Query("UPDATE Comentario c SET c.votosPositivos = c.votosPositivos + :deltaPositivos, " +
+           "c.votosNegativos = c.votosNegativos + :deltaNegativos, " +
+           "c.score = c.score + :deltaPositivos - :deltaNegativos, c.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE c.id = :id")
+    int incrementarVotos(@Param("id") Long id, @Param("deltaPositivos") int deltaPositivos, @Param("deltaNegativos") int deltaNegativos);
+
+    @Query(SELECT_VIEW + "WHERE c.id = :id")
+    Optional<ComentarioView> findViewById(@Param("id") Long id);
+
     List<Comentario> findByAvaliacaoProfessorIdAndAvaliacaoCadeiraIdAndCriterioIdOrderByVotosPositivosDescVotosNegativosAsc(
         Long professorId, Long cadeiraId, Long criterioId);
 
-    // Busca o principal comentário para um critério de um professor (maior score)
-    @Query("SELECT c FROM Comentario c " +
-           "JOIN c.avaliacao av " +
-           "WHERE av.professor.id = :professorId AND c.criterio.id = :criterioId " +
-           "ORDER BY (c.votosPositivos - c.votosNegativos) DESC, c.createdAt DESC")
-    List<Comentario> findPrincipalComentarioPorCriterioEProfessor(@Param("professorId") Long professorId, @Param("criterioId") Long criterioId);
+    // Busca os principais comentários para a página de critério de um professor, ordenados por score
+    // (o Pageable limita quantos são trazidos)
+    @Query("SELECT c.id AS id, c.criterio.id AS criterioId, c.texto AS texto, c.score AS score " +
+           "FROM Comentario c " +
+           "WHERE c.professorId = :professorId AND c.criterio.id = :criterioId " +
+           "ORDER BY c.score DESC, c.createdAt DESC")
+    List<ComentarioPrincipalView> findComentariosPorCriterioEProfessorOrdenadosPorScore(@Param("professorId") Long professorId, @Param("criterioId") Long criterioId, Pageable pageable);
 
-    // Busca comentários para a página de critério de um professor, ordenados por score
-     @Query("SELECT c FROM Comentario c " +
-           "JOIN c.avaliacao av " +
-           "WHERE av.professor.id = :professorId AND c.criterio.id = :criterioId " +
-           "ORDER BY (c.votosPositivos - c.votosNegativos) DESC, c.createdAt DESC")
-    List<Comentario> findComentariosPorCriterioEProfessorOrdenadosPorScore(@Param("professorId") Long professorId, @Param("criterioId") Long criterioId);
+    // Listagens: projeção com exatamente os campos do ComentarioDto, sem carregar avaliação, critério e cadeira
+    // como entidades; a contagem não precisa de joins
 
     // Busca todos os comentários de um professor em uma cadeira específica
-    @Query("SELECT c FROM Comentario c " +
-           "JOIN c.avaliacao av " +
-           "WHERE av.professor.id = :professorId AND av.cadeira.id = :cadeiraId " +
-           "ORDER BY (c.votosPositivos - c.votosNegativos) DESC, c.createdAt DESC")
-    Page<Comentario> findComentariosPorProfessorECadeira(@Param("professorId") Long professorId, @Param("cadeiraId") Long cadeiraId, Pageable pageable);
-
-    @Query("SELECT c FROM Comentario c WHERE c.avaliacao.professor.id = :professorId AND c.criterio.id = :criterioId")
-    Page<Comentario> findComentariosPorCriterioEProfessor(@Param("professorId") Long professorId, @Param("criterioId") Long criterioId, Pageable pageable);
-
-    @Query("SELECT c FROM Comentario c " +
-       "JOIN c.avaliacao av " +
-       "WHERE av.professor.id = :professorId " +
-       "AND c.criterio.id = :criterioId " +
-       "AND av.cadeira.id = :cadeiraId")
-    Page<Comentario> findComentariosPorCriterioEProfessorComCadeira(
+    @Query(value = SELECT_VIEW +
+           "WHERE c.professorId = :professorId AND c.cadeiraId = :cadeiraId " +
+           "ORDER BY c.score DESC, c.createdAt DESC",
+           countQuery = "SELECT COUNT(c) FROM Comentario c " +
+           "WHERE c.professorId = :professorId AND c.cadeiraId = :cadeiraId")
+    Page<ComentarioView> findComentariosPorProfessorECadeira(@Param("professorId") Long professorId, @Param("cadeiraId") Long cadeiraId, Pageable pageable);
+
+    @Query(value = SELECT_VIEW +
+           "WHERE c.professorId = :professorId AND cr.id = :criterioId",
+           countQuery = "SELECT COUNT(c) FROM Comentario c " +
+           "WHERE c.professorId = :professorId AND c.criterio.id = :criterioId")
+    Page<ComentarioView> findComentariosPorCriterioEProfessor(@Param("professorId") Long professorId, @Param("criterioId") Long criterioId, Pageable pageable);
+
+    @Query(value = SELECT_VIEW +
+       "WHERE c.professorId = :professorId " +
+       "AND cr.id = :criterioId " +
+       "AND c.cadeiraId = :cadeiraId",
+       countQuery = "SELECT COUNT(c) FROM Comentario c " +
+       "WHERE c.professorId = :professorId AND c.criterio.id = :criterioId AND c.cadeiraId = :cadeiraId")
+    Page<ComentarioView> findComentariosPorCriterioEProfessorComCadeira(
         @Param("professorId") Long professorId,
         @Param("criterioId") Long criterioId,
         @Param("cadeiraId") Long cadeiraId,
         Pageable pageable);
 
-    @Query("SELECT c FROM Comentario c " +
-       "JOIN c.avaliacao av " +
-       "WHERE av.professor.id = :professorId " +
-       "AND c.criterio.id = :criterioId " +
+    @Query(value = SELECT_VIEW +
+       "WHERE c.professorId = :professorId " +
+       "AND cr.id = :criterioId " +
        "AND c.createdAt >= :dataCorte " +
-       "ORDER BY c.createdAt DESC")
-    Page<Comentario> findComentariosPorCriterioEProfessorComPeriodo(
+       "ORDER BY c.createdAt DESC",
+       countQuery = "SELECT COUNT(c) FROM Comentario c " +
+       "WHERE c.professorId = :professorId AND c.criterio.id = :criterioId AND c.createdAt >= :dataCorte")
+    Page<ComentarioView> findComentariosPorCriterioEProfessorComPeriodo(
         @Param("professorId") Long professorId,
         @Param("criterioId") Long criterioId,
         @Param("dataCorte") LocalDateTime dataCorte,
         Pageable pageable);
 
-    @Query("SELECT c FROM Comentario c " +
-       "JOIN c.avaliacao av " +
-       "WHERE av.professor.id = :professorId " +
-       "AND c.criterio.id = :criterioId " +
-       "AND av.cadeira.id = :cadeiraId " +
+    @Query(value = SELECT_VIEW +
+       "WHERE c.professorId = :professorId " +
+       "AND cr.id = :criterioId " +
+       "AND c.cadeiraId = :cadeiraId " +
        "AND c.createdAt >= :dataCorte " +
-       "ORDER BY c.createdAt DESC")
-    Page<Comentario> findComentariosPorCriterioEProfessorComFiltros(
+       "ORDER BY c.createdAt DESC",
+       countQuery = "SELECT COUNT(c) FROM Comentario c " +
+       "WHERE c.professorId = :professorId AND c.criterio.id = :criterioId " +
+       "AND c.cadeiraId = :cadeiraId AND c.createdAt >= :dataCorte")
+    Page<ComentarioView> findComentariosPorCriterioEProfessorComFiltros(
         @Param("professorId") Long professorId,
         @Param("criterioId") Long criterioId,
         @Param("cadeiraId") Long cadeiraId,
         @Param("dataCorte") LocalDateTime dataCorte,
         Pageable pageable);
-}
\ No newline at end of file
+
+    // Feeds por cursor: seek a partir da última posição entregue em (score, createdAt, id), sem contagem
+    // (o Pageable só limita a quantidade)
+    @Query(SELECT_VIEW +
+           "WHERE c.professorId = :professorId AND c.cadeiraId = :cadeiraId " +
+           "AND (c.score, c.createdAt, c.id) < (:score, :createdAt, :id) " +
+           "ORDER BY c.score DESC, c.createdAt DESC, c.id DESC")
+    List<ComentarioView> findFeedPorProfessorECadeira(
+        @Param("professorId") Long professorId,
+        @Param("cadeiraId") Long cadeiraId,
+        @Param("score") int score,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") long id,
+        Pageable pageable);
+
+    @Query(SELECT_VIEW +
+           "WHERE c.professorId = :professorId AND cr.id = :criterioId " +
+           "AND (:cadeiraId IS NULL OR c.cadeiraId = :cadeiraId) " +
+           "AND (c.score, c.createdAt, c.id) < (:score, :createdAt, :id) " +
+           "ORDER BY c.score DESC, c.createdAt DESC, c.id DESC")
+    List<ComentarioView> findFeedPorCriterioEProfessor(
+        @Param("professorId") Long professorId,
+        @Param("criterioId") Long criterioId,
+        @Param("cadeiraId") Long cadeiraId,
+        @Param("score") int score,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") long id,
+        Pageable pageable);
+}
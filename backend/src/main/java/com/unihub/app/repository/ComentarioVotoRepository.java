@@ -0,0 +1,45 @@
+package com.unihub.app.repository;
+
+import com.unihub.app.entity.ComentarioVoto;
+import com.unihub.app.entity.ComentarioVotoId;
+import com.unihub.app.entity.EVoteType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ComentarioVotoRepository extends JpaRepository<ComentarioVoto, ComentarioVotoId> {
+
+    @Query("SELECT v.tipo FROM ComentarioVoto v WHERE v.id.usuarioId = :usuarioId AND v.id.comentarioId = :comentarioId")
+    Optional<EVoteType> findTipo(@Param("usuarioId") Long usuarioId, @Param("comentarioId") Long comentarioId);
+
+    // Votos do usuário para uma página inteira de comentários, em uma única consulta
+    @Query("SELECT v FROM ComentarioVoto v WHERE v.id.usuarioId = :usuarioId AND v.id.comentarioId IN :comentarioIds")
+    List<ComentarioVoto> findByUsuarioIdAndComentarioIdIn(@Param("usuarioId") Long usuarioId, @Param("comentarioIds") Collection<Long> comentarioIds);
+
+    // Retorna 0 se o usuário já tiver votado (inclusive por uma requisição concorrente)
+    @Modifying
+    @Query(value = "INSERT INTO comentario_votos (usuario_id, comentario_id, tipo, created_at) " +
+                   "VALUES (:usuarioId, :comentarioId, :tipo, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int inserirSeAusente(@Param("usuarioId") Long usuarioId, @Param("comentarioId") Long comentarioId, @Param("tipo") String tipo);
+
+    // Só troca se o voto atual ainda for o esperado; o retorno indica se os contadores devem ser ajustados
+    @Modifying
+    @Query("UPDATE ComentarioVoto v SET v.tipo = :novo " +
+           "WHERE v.id.usuarioId = :usuarioId AND v.id.comentarioId = :comentarioId AND v.tipo = :atual")
+    int trocarTipo(@Param("usuarioId") Long usuarioId, @Param("comentarioId") Long comentarioId,
+                   @Param("atual") EVoteType atual, @Param("novo") EVoteType novo);
+
+    @Modifying
+    @Query("DELETE FROM ComentarioVoto v " +
+           "WHERE v.id.usuarioId = :usuarioId AND v.id.comentarioId = :comentarioId AND v.tipo = :atual")
+    int remover(@Param("usuarioId") Long usuarioId, @Param("comentarioId") Long comentarioId, @Param("atual") EVoteType atual);
+}
@@ -0,0 +1,70 @@
+package com.unihub.app.repository;
+
+import com.unihub.app.entity.NotaRollup;
+import com.unihub.app.repository.projection.CadeiraAgregadoView;
+import com.unihub.app.repository.projection.CriterioMediaView;
+import com.unihub.app.repository.projection.CursoRankingView;
+import com.unihub.app.repository.projection.PeriodoRankingView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface NotaRollupRepository extends JpaRepository<NotaRollup, Long> {
+
+    // Soma as notas de uma avaliação recém-inserida aos rollups do professor (um único statement para todos os critérios)
+    @Modifying
+    @Query(value = "INSERT INTO nota_rollups (professor_id, cadeira_id, criterio_id, periodo, soma_notas, total_notas, updated_at) " +
+                   "SELECT a.professor_id, a.cadeira_id, nc.criterio_id, a.periodo, nc.nota, 1, CURRENT_TIMESTAMP " +
+                   "FROM nota_criterios nc JOIN avaliacoes a ON a.id = nc.avaliacao_id " +
+                   "WHERE nc.avaliacao_id = :avaliacaoId " +
+                   "ON CONFLICT (professor_id, cadeira_id, criterio_id, periodo) DO UPDATE SET " +
+                   "soma_notas = nota_rollups.soma_notas + EXCLUDED.soma_notas, " +
+                   "total_notas = nota_rollups.total_notas + EXCLUDED.total_notas, " +
+                   "updated_at = EXCLUDED.updated_at",
+           nativeQuery = true)
+    int acumularNotasDaAvaliacao(@Param("avaliacaoId") Long avaliacaoId);
+
+    // Nota geral do professor: média de todas as notas, sem varrer o histórico de avaliações
+    @Query("SELECT SUM(r.somaNotas) * 1.0 / SUM(r.totalNotas) FROM NotaRollup r WHERE r.professor.id = :professorId")
+    Double calculateAverageNotaByProfessorId(@Param("professorId") Long professorId);
+
+    // Média de todas as notas já dadas (média a priori do ranking ponderado)
+    @Query("SELECT SUM(r.somaNotas) * 1.0 / SUM(r.totalNotas) FROM NotaRollup r")
+    Double calculateAverageNota();
+
+    // Rankings por curso e por período: de todos os professores ou, com professorId, de um só
+    @Query("SELECT r.professor.id AS professorId, ca.curso.id AS cursoId, SUM(r.somaNotas) * 1.0 / SUM(r.totalNotas) AS notaMedia, " +
+           "(SELECT COUNT(a) FROM Avaliacao a WHERE a.professor.id = r.professor.id AND a.cadeira.curso.id = ca.curso.id) AS totalAvaliacoes " +
+           "FROM NotaRollup r JOIN r.cadeira ca " +
+           "WHERE (:professorId IS NULL OR r.professor.id = :professorId) " +
+           "GROUP BY r.professor.id, ca.curso.id")
+    List<CursoRankingView> findRankingPorCurso(@Param("professorId") Long professorId);
+
+    @Query("SELECT r.professor.id AS professorId, r.periodo AS periodo, SUM(r.somaNotas) * 1.0 / SUM(r.totalNotas) AS notaMedia, " +
+           "(SELECT COUNT(a) FROM Avaliacao a WHERE a.professor.id = r.professor.id AND a.periodo = r.periodo) AS totalAvaliacoes " +
+           "FROM NotaRollup r " +
+           "WHERE (:professorId IS NULL OR r.professor.id = :professorId) " +
+           "GROUP BY r.professor.id, r.periodo")
+    List<PeriodoRankingView> findRankingPorPeriodo(@Param("professorId") Long professorId);
+
+    // Média e total de avaliações de um professor em todas as suas cadeiras, em uma única consulta; o total vem
+    // da linha do professor na cadeira em AvaliacaoRollup, sem contar avaliações
+    @Query("SELECT r.cadeira.id AS cadeiraId, SUM(r.somaNotas) * 1.0 / SUM(r.totalNotas) AS notaMedia, " +
+           "c.totalAvaliacoes AS totalAvaliacoes " +
+           "FROM NotaRollup r LEFT JOIN AvaliacaoRollup c ON c.professor = r.professor AND c.cadeira = r.cadeira " +
+           "WHERE r.professor.id = :professorId " +
+           "GROUP BY r.cadeira.id, c.totalAvaliacoes")
+    List<CadeiraAgregadoView> findAgregadosPorCadeira(@Param("professorId") Long professorId);
+
+    // Média de um professor em todos os critérios, em uma única consulta
+    @Query("SELECT r.criterio.id AS criterioId, SUM(r.somaNotas) * 1.0 / SUM(r.totalNotas) AS notaMedia " +
+           "FROM NotaRollup r " +
+           "WHERE r.professor.id = :professorId " +
+           "GROUP BY r.criterio.id")
+    List<CriterioMediaView> findMediasPorCriterio(@Param("professorId") Long professorId);
+}
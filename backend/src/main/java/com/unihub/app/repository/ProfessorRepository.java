@@ -1,25 +1,70 @@
 package com.unihub.app.repository;
 
 import com.unihub.app.entity.Professor;
+import com.unihub.app.repository.projection.ProfessorNomeView;
+import com.unihub.app.repository.projection.ProfessorRankingView;
+import com.unihub.app.repository.projection.ProfessorVersaoView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProfessorRepository extends JpaRepository<Professor, Long> {
 
-    Page<Professor> findByNomeCompletoContainingIgnoreCase(String nome, Pageable pageable);
+    // Professor com suas cadeiras (e respectivos cursos) carregados em uma única consulta
+    @Query("SELECT DISTINCT p FROM Professor p LEFT JOIN FETCH p.cadeiras c LEFT JOIN FETCH c.curso WHERE p.id = :id")
+    Optional<Professor> findByIdWithCadeiras(@Param("id") Long id);
 
-    List<Professor> findByNomeCompletoContainingIgnoreCase(String nome);
+    // Versão dos detalhes de um professor (ETag): só subconsultas de MAX/COUNT, sem montar o DTO.
+    // O score do principal comentário muda com os votos sem trocar o slot, por isso o updatedAt do comentário.
+    @Query("SELECT p.updatedAt AS professorAtualizadoEm, " +
+           "(SELECT MAX(ca.updatedAt) FROM Professor p2 JOIN p2.cadeiras ca WHERE p2.id = p.id) AS cadeirasAtualizadasEm, " +
+           "(SELECT MAX(cu.updatedAt) FROM Professor p2 JOIN p2.cadeiras ca JOIN ca.curso cu WHERE p2.id = p.id) AS cursosAtualizadosEm, " +
+           "(SELECT COUNT(ca) FROM Professor p2 JOIN p2.cadeiras ca WHERE p2.id = p.id) AS totalCadeiras, " +
+           "(SELECT MAX(r.updatedAt) FROM NotaRollup r WHERE r.professor.id = p.id) AS rollupsAtualizadosEm, " +
+           "(SELECT MAX(t.updatedAt) FROM TopComentario t WHERE t.professor.id = p.id) AS principaisComentariosAtualizadosEm, " +
+           "(SELECT MAX(c.updatedAt) FROM TopComentario t JOIN t.comentario c WHERE t.professor.id = p.id) AS comentariosPrincipaisAtualizadosEm, " +
+           "(SELECT MAX(cr.updatedAt) FROM Criterio cr) AS criteriosAtualizadosEm, " +
+           "(SELECT COUNT(cr) FROM Criterio cr) AS totalCriterios " +
+           "FROM Professor p WHERE p.id = :id")
+    Optional<ProfessorVersaoView> findVersaoDetalhes(@Param("id") Long id);
 
-    // Query para buscar Top X professores pela notaGeral
-    @Query(value = "SELECT * FROM professores p ORDER BY p.nota_geral DESC NULLS LAST LIMIT :limit", nativeQuery = true)
-    List<Professor> findTopXByOrderByNotaGeralDesc(@Param("limit") int limit);
+    // Vínculo professor-cadeira consultado e alterado direto na tabela de junção, sem carregar a coleção de cadeiras
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM professor_cadeiras WHERE professor_id = :professorId AND cadeira_id = :cadeiraId)",
+           nativeQuery = true)
+    boolean lecionaCadeira(@Param("professorId") Long professorId, @Param("cadeiraId") Long cadeiraId);
+
+    @Modifying
+    @Query(value = "INSERT INTO professor_cadeiras (professor_id, cadeira_id) VALUES (:professorId, :cadeiraId) ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int vincularCadeira(@Param("professorId") Long professorId, @Param("cadeiraId") Long cadeiraId);
+
+    @Modifying
+    @Query(value = "DELETE FROM professor_cadeiras WHERE professor_id = :professorId AND cadeira_id = :cadeiraId", nativeQuery = true)
+    int desvincularCadeira(@Param("professorId") Long professorId, @Param("cadeiraId") Long cadeiraId);
+
+    // Alterações feitas só na tabela de junção não passam pelo @UpdateTimestamp; a ETag dos detalhes depende dele.
+    // Limpa o contexto de persistência para que a coleção de cadeiras seja relida depois da alteração.
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Professor p SET p.updatedAt = CURRENT_TIMESTAMP WHERE p.id = :id")
+    int marcarAlterado(@Param("id") Long id);
+
+    // Carga do índice de busca por nome (ProfessorSearchIndex)
+    @Query("SELECT p.id AS id, p.nomeCompleto AS nomeCompleto FROM Professor p")
+    List<ProfessorNomeView> findAllNomes();
+
+    // Entradas do ranking em memória (ProfessorLeaderboard): de todos os professores ou, com professorId, de um só
+    @Query("SELECT p.id AS professorId, p.nomeCompleto AS nomeCompleto, p.photoUrl AS photoUrl, p.notaGeral AS notaGeral, " +
+           "(SELECT COUNT(a) FROM Avaliacao a WHERE a.professor.id = p.id) AS totalAvaliacoes " +
+           "FROM Professor p WHERE (:professorId IS NULL OR p.id = :professorId)")
+    List<ProfessorRankingView> findRanking(@Param("professorId") Long professorId);
 
     // Query para filtrar professores que lecionaram em um determinado período (mais complexa, envolve Avaliacao)
     // Esta é uma simplificação. Uma query mais precisa dependeria de como "periodo" é associado a professor.
@@ -0,0 +1,60 @@
+package com.unihub.app.repository;
+
+import com.unihub.app.entity.TopComentario;
+import com.unihub.app.repository.projection.ComentarioPrincipalView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TopComentarioRepository extends JpaRepository<TopComentario, Long> {
+
+    // Comentário de maior score do slot t: leitura top-1 do índice (professor_id, criterio_id, score, created_at, id)
+    String PRINCIPAL_DO_SLOT = "(SELECT c2.id FROM comentarios c2 " +
+            "WHERE c2.professor_id = t.professor_id AND c2.criterio_id = t.criterio_id " +
+            "ORDER BY c2.score DESC, c2.created_at DESC, c2.id DESC LIMIT 1)";
+
+    // Cria o slot de um professor em um critério se ainda não existir (0 se já existir, inclusive por
+    // uma avaliação concorrente); o comentário informado é só o ponto de partida até o slot ser reapontado
+    @Modifying
+    @Query(value = "INSERT INTO top_comentarios (professor_id, criterio_id, comentario_id, updated_at) " +
+                   "VALUES (:professorId, :criterioId, :comentarioId, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int inserirSlotSeAusente(@Param("professorId") Long professorId, @Param("criterioId") Long criterioId, @Param("comentarioId") Long comentarioId);
+
+    // Reaponta os slots dos critérios comentados em uma avaliação; só grava (e trava) os que mudaram
+    @Modifying
+    @Query(value = "UPDATE top_comentarios t SET comentario_id = " + PRINCIPAL_DO_SLOT + ", updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE EXISTS (SELECT 1 FROM comentarios c WHERE c.avaliacao_id = :avaliacaoId " +
+                   "              AND c.professor_id = t.professor_id AND c.criterio_id = t.criterio_id) " +
+                   "AND t.comentario_id IS DISTINCT FROM " + PRINCIPAL_DO_SLOT,
+           nativeQuery = true)
+    int atualizarSlotsDaAvaliacao(@Param("avaliacaoId") Long avaliacaoId);
+
+    // Reaponta o slot do comentário que recebeu voto; na maioria dos votos o principal não muda e nada é gravado
+    @Modifying
+    @Query(value = "UPDATE top_comentarios t SET comentario_id = " + PRINCIPAL_DO_SLOT + ", updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE EXISTS (SELECT 1 FROM comentarios c WHERE c.id = :comentarioId " +
+                   "              AND c.professor_id = t.professor_id AND c.criterio_id = t.criterio_id) " +
+                   "AND t.comentario_id IS DISTINCT FROM " + PRINCIPAL_DO_SLOT,
+           nativeQuery = true)
+    int atualizarSlotDoComentario(@Param("comentarioId") Long comentarioId);
+
+    // Principal comentário de um professor em um critério: no máximo uma linha
+    @Query("SELECT c.id AS id, t.criterio.id AS criterioId, c.texto AS texto, c.score AS score " +
+           "FROM TopComentario t JOIN t.comentario c " +
+           "WHERE t.professor.id = :professorId AND t.criterio.id = :criterioId")
+    Optional<ComentarioPrincipalView> findPrincipalComentario(@Param("professorId") Long professorId, @Param("criterioId") Long criterioId);
+
+    // Principal comentário de cada critério de um professor (uma linha por critério comentado)
+    @Query("SELECT c.id AS id, t.criterio.id AS criterioId, c.texto AS texto, c.score AS score " +
+           "FROM TopComentario t JOIN t.comentario c " +
+           "WHERE t.professor.id = :professorId")
+    List<ComentarioPrincipalView> findPrincipaisComentarios(@Param("professorId") Long professorId);
+}
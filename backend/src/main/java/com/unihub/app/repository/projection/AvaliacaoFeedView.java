@@ -0,0 +1,11 @@
+package com.unihub.app.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Chave de ordenação de uma avaliação no feed por cursor.
+ */
+public interface AvaliacaoFeedView {
+    Long getId();
+    LocalDateTime getDataAvaliacao();
+}
@@ -0,0 +1,10 @@
+package com.unihub.app.repository.projection;
+
+/**
+ * Média das notas e total de avaliações de um professor, agrupados por cadeira.
+ */
+public interface CadeiraAgregadoView {
+    Long getCadeiraId();
+    Double getNotaMedia();
+    Long getTotalAvaliacoes();
+}
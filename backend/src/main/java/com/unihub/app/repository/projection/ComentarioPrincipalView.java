@@ -0,0 +1,11 @@
+package com.unihub.app.repository.projection;
+
+/**
+ * Comentário com seu score, usado nas listas de principais comentários de um professor por critério.
+ */
+public interface ComentarioPrincipalView {
+    Long getId();
+    Long getCriterioId();
+    String getTexto();
+    Integer getScore();
+}
@@ -0,0 +1,20 @@
+package com.unihub.app.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Campos de um comentário necessários para montar um {@link com.unihub.app.dto.ComentarioDto},
+ * lidos sem carregar a entidade.
+ */
+public interface ComentarioView {
+    Long getId();
+    String getTexto();
+    Long getAvaliacaoId();
+    Long getCriterioId();
+    String getCriterioNome();
+    String getCadeiraNome();
+    Integer getVotosPositivos();
+    Integer getVotosNegativos();
+    Integer getScore();
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,9 @@
+package com.unihub.app.repository.projection;
+
+/**
+ * Média das notas de um professor, agrupada por critério.
+ */
+public interface CriterioMediaView {
+    Long getCriterioId();
+    Double getNotaMedia();
+}
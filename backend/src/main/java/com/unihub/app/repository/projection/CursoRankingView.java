@@ -0,0 +1,11 @@
+package com.unihub.app.repository.projection;
+
+/**
+ * Média das notas e total de avaliações de um professor nas cadeiras de um curso.
+ */
+public interface CursoRankingView {
+    Long getProfessorId();
+    Long getCursoId();
+    Double getNotaMedia();
+    Long getTotalAvaliacoes();
+}
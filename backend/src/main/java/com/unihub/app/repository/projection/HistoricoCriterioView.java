@@ -0,0 +1,14 @@
+package com.unihub.app.repository.projection;
+
+/**
+ * Uma linha do histórico de um critério para um professor: a nota de uma avaliação
+ * e, se houver, o comentário dessa avaliação para o mesmo critério.
+ */
+public interface HistoricoCriterioView {
+    Long getAvaliacaoId();
+    String getPeriodo();
+    Integer getNota();
+    Long getComentarioId();
+    String getComentarioTexto();
+    Integer getComentarioScore();
+}
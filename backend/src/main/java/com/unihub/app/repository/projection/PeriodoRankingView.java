@@ -0,0 +1,11 @@
+package com.unihub.app.repository.projection;
+
+/**
+ * Média das notas e total de avaliações de um professor em um período letivo.
+ */
+public interface PeriodoRankingView {
+    Long getProfessorId();
+    String getPeriodo();
+    Double getNotaMedia();
+    Long getTotalAvaliacoes();
+}
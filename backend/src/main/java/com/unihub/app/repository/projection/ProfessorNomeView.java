@@ -0,0 +1,9 @@
+package com.unihub.app.repository.projection;
+
+/**
+ * Id e nome de um professor, para a carga do índice de busca.
+ */
+public interface ProfessorNomeView {
+    Long getId();
+    String getNomeCompleto();
+}
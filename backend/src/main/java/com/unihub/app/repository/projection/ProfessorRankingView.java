@@ -0,0 +1,14 @@
+package com.unihub.app.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Entrada do ranking geral: identificação do professor, nota geral e total de avaliações recebidas.
+ */
+public interface ProfessorRankingView {
+    Long getProfessorId();
+    String getNomeCompleto();
+    String getPhotoUrl();
+    BigDecimal getNotaGeral();
+    Long getTotalAvaliacoes();
+}
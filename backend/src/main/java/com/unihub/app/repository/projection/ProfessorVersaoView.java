@@ -0,0 +1,19 @@
+package com.unihub.app.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marcas de alteração de tudo o que compõe os detalhes públicos de um professor. Os contadores cobrem
+ * remoções, que não deixam timestamp.
+ */
+public interface ProfessorVersaoView {
+    LocalDateTime getProfessorAtualizadoEm();
+    LocalDateTime getCadeirasAtualizadasEm();
+    LocalDateTime getCursosAtualizadosEm();
+    Long getTotalCadeiras();
+    LocalDateTime getRollupsAtualizadosEm();
+    LocalDateTime getPrincipaisComentariosAtualizadosEm();
+    LocalDateTime getComentariosPrincipaisAtualizadosEm();
+    LocalDateTime getCriteriosAtualizadosEm();
+    Long getTotalCriterios();
+}
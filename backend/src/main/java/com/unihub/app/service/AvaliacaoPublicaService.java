@@ -0,0 +1,102 @@
+package com.unihub.app.service;
+
+import com.unihub.app.dto.AvaliacaoNotaPublicDto;
+import com.unihub.app.dto.AvaliacaoPublicDto;
+import com.unihub.app.dto.ComentarioPublicDto;
+import com.unihub.app.entity.Avaliacao;
+import com.unihub.app.entity.Comentario;
+import com.unihub.app.entity.NotaCriterio;
+import com.unihub.app.repository.AvaliacaoRepository;
+import com.unihub.app.repository.ComentarioRepository;
+import com.unihub.app.repository.NotaCriterioRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Monta páginas de {@link AvaliacaoPublicDto} a partir de uma página de ids, com um número fixo de consultas:
+ * as avaliações com professor e cadeira, e as notas e comentários (com seus critérios) da página inteira em lote.
+ */
+@Service
+public class AvaliacaoPublicaService {
+
+    @Autowired
+    private AvaliacaoRepository avaliacaoRepository;
+
+    @Autowired
+    private NotaCriterioRepository notaCriterioRepository;
+
+    @Autowired
+    private ComentarioRepository comentarioRepository;
+
+    /**
+     * Sem ordenação pedida pelo cliente, as listagens vêm das avaliações mais recentes para as mais antigas.
+     */
+    public Pageable comOrdenacaoPadrao(Pageable pageable) {
+        if (pageable.getSort().isSorted()) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                Sort.by(Sort.Direction.DESC, "dataAvaliacao").and(Sort.by(Sort.Direction.DESC, "id")));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<AvaliacaoPublicDto> carregarPagina(Page<Long> ids) {
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), ids.getPageable(), ids.getTotalElements());
+        }
+        return new PageImpl<>(carregar(ids.getContent()), ids.getPageable(), ids.getTotalElements());
+    }
+
+    /**
+     * Mesmas três consultas de {@link #carregarPagina}, para uma lista de ids sem paginação por offset (feeds por cursor).
+     */
+    @Transactional(readOnly = true)
+    public List<AvaliacaoPublicDto> carregar(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Avaliacao> avaliacoes = avaliacaoRepository.findAllWithProfessorAndCadeiraByIdIn(ids).stream()
+                .collect(Collectors.toMap(Avaliacao::getId, Function.identity()));
+        Map<Long, List<NotaCriterio>> notas = notaCriterioRepository.findWithCriterioByAvaliacaoIdIn(ids).stream()
+                .collect(Collectors.groupingBy(nc -> nc.getAvaliacao().getId()));
+        Map<Long, List<Comentario>> comentarios = comentarioRepository.findWithCriterioByAvaliacaoIdIn(ids).stream()
+                .collect(Collectors.groupingBy(c -> c.getAvaliacao().getId()));
+
+        // Mantém a ordem dos ids; uma avaliação removida entre a consulta dos ids e esta carga é descartada
+        return ids.stream()
+                .filter(avaliacoes::containsKey)
+                .map(id -> convertToPublicDto(avaliacoes.get(id),
+                        notas.getOrDefault(id, List.of()), comentarios.getOrDefault(id, List.of())))
+                .toList();
+    }
+
+    private AvaliacaoPublicDto convertToPublicDto(Avaliacao avaliacao, List<NotaCriterio> notas, List<Comentario> comentarios) {
+        AvaliacaoPublicDto dto = new AvaliacaoPublicDto();
+        dto.setId(avaliacao.getId());
+        dto.setData(avaliacao.getDataAvaliacao().toString());
+        dto.setPeriodo(avaliacao.getPeriodo());
+        dto.setProfessorNome(avaliacao.getProfessor().getNomeCompleto());
+        dto.setCadeiraNome(avaliacao.getCadeira().getNome());
+
+        dto.setNotas(notas.stream()
+            .map(nc -> new AvaliacaoNotaPublicDto(nc.getCriterio().getNome(), nc.getNota()))
+            .collect(Collectors.toList()));
+
+        dto.setComentarios(comentarios.stream()
+            .map(c -> new ComentarioPublicDto(c.getId(), c.getTexto(), c.getCriterio() != null ? c.getCriterio().getNome() : "Geral", c.getScore(), c.getCreatedAt()))
+            .collect(Collectors.toList()));
+        return dto;
+    }
+}
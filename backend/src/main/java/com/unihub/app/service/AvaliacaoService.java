@@ -5,18 +5,25 @@ import com.unihub.app.entity.*;
 import com.unihub.app.exception.BadRequestException;
 import com.unihub.app.exception.ResourceNotFoundException;
 import com.unihub.app.repository.*;
+import com.unihub.app.repository.projection.AvaliacaoFeedView;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -38,15 +45,28 @@ public class AvaliacaoService {
     private CriterioRepository criterioRepository;
 
     @Autowired
-    private ProfessorService professorService; // Para recalcular nota geral
+    private NotaRollupRepository notaRollupRepository;
+
+    @Autowired
+    private AvaliacaoRollupRepository avaliacaoRollupRepository;
+
+    @Autowired
+    private TopComentarioRepository topComentarioRepository;
+
+    @Autowired
+    private CurrentUserService currentUserService;
+
+    @Autowired
+    private AvaliacaoPublicaService avaliacaoPublicaService;
+
+    @Autowired
+    private NotaGeralRecalculoQueue notaGeralRecalculoQueue; // Para recalcular nota geral
 
     @Transactional
     public AvaliacaoDto createAvaliacao(AvaliacaoRequest avaliacaoRequest) {
 
-        UserDetails userDetails = (UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-
-        User currentUser = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> new ResourceNotFoundException("User", "Email", userDetails.getUsername()));
+        // O id vem das claims do token; a referência evita carregar a linha do usuário só para associá-la
+        User currentUser = userRepository.getReferenceById(currentUserService.requireCurrentUserId());
 
         Professor professor = professorRepository.findById(avaliacaoRequest.getProfessorId())
                 .orElseThrow(() -> new ResourceNotFoundException("Professor", "id", avaliacaoRequest.getProfessorId()));
@@ -54,17 +74,10 @@ public class AvaliacaoService {
         Cadeira cadeira = cadeiraRepository.findById(avaliacaoRequest.getCadeiraId())
                 .orElseThrow(() -> new ResourceNotFoundException("Cadeira", "id", avaliacaoRequest.getCadeiraId()));
 
-        // Validar se o professor leciona a cadeira
-        if (!professor.getCadeiras().contains(cadeira)) {
+        // Validar se o professor leciona a cadeira (consulta na tabela de junção, sem carregar as cadeiras do professor)
+        if (!professorRepository.lecionaCadeira(professor.getId(), cadeira.getId())) {
             throw new BadRequestException("Professor " + professor.getNomeCompleto() + " não leciona a cadeira " + cadeira.getNome());
         }
-        
-        // Validar se já existe uma avaliação para este usuário, professor, cadeira e período
-        Optional<Avaliacao> existingAvaliacao = avaliacaoRepository
-            .findByUserIdAndProfessorIdAndCadeiraIdAndPeriodo(currentUser.getId(), professor.getId(), cadeira.getId(), avaliacaoRequest.getPeriodo());
-        if(existingAvaliacao.isPresent()){
-            throw new BadRequestException("Usuário já avaliou este professor nesta cadeira para o período " + avaliacaoRequest.getPeriodo());
-        }
 
         Avaliacao avaliacao = new Avaliacao();
         avaliacao.setUser(currentUser);
@@ -73,44 +86,107 @@ public class AvaliacaoService {
         avaliacao.setPeriodo(avaliacaoRequest.getPeriodo());
         avaliacao.setDataAvaliacao(LocalDateTime.now());
 
+        // Todos os critérios citados (notas e comentários) em uma única consulta
+        Map<Long, Criterio> criterios = carregarCriterios(avaliacaoRequest);
+
         for (NotaCriterioRequest notaReq : avaliacaoRequest.getNotasCriterios()) {
-            Criterio criterio = criterioRepository.findById(notaReq.getCriterioId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Criterio", "id", notaReq.getCriterioId()));
-            NotaCriterio notaCriterio = new NotaCriterio(avaliacao, criterio, notaReq.getNota());
+            NotaCriterio notaCriterio = new NotaCriterio(avaliacao, criterios.get(notaReq.getCriterioId()), notaReq.getNota());
             avaliacao.addNotaCriterio(notaCriterio);
         }
 
         if (avaliacaoRequest.getComentarios() != null) {
             for (ComentarioRequest comReq : avaliacaoRequest.getComentarios()) {
-                Criterio criterio = criterioRepository.findById(comReq.getCriterioId())
-                        .orElseThrow(() -> new ResourceNotFoundException("Criterio", "id", comReq.getCriterioId()));
-                Comentario comentario = new Comentario(comReq.getTexto(), avaliacao, criterio);
+                Comentario comentario = new Comentario(comReq.getTexto(), avaliacao, criterios.get(comReq.getCriterioId()));
                 avaliacao.addComentario(comentario);
             }
         }
-        Avaliacao savedAvaliacao = avaliacaoRepository.save(avaliacao);
-        // Após salvar, recalcular a nota geral do professor
-        professorService.calculateAndUpdateNotaGeral(professor.getId());
+        // Avaliação repetida (usuário, professor, cadeira e período) é barrada pela unique constraint no insert,
+        // sem consulta prévia e sem janela entre a verificação e a gravação em envios simultâneos
+        Avaliacao savedAvaliacao;
+        try {
+            savedAvaliacao = avaliacaoRepository.saveAndFlush(avaliacao);
+        } catch (DataIntegrityViolationException e) {
+            if (violouConstraint(e, Avaliacao.UK_AVALIACAO_POR_PERIODO)) {
+                throw new BadRequestException("Usuário já avaliou este professor nesta cadeira para o período " + avaliacaoRequest.getPeriodo());
+            }
+            throw e;
+        }
+        // Acumula as notas e a contagem de avaliações nos rollups do professor na mesma transação da avaliação
+        notaRollupRepository.acumularNotasDaAvaliacao(savedAvaliacao.getId());
+        avaliacaoRollupRepository.acumularAvaliacao(savedAvaliacao.getId());
+        // Novos comentários entram na disputa pelo principal comentário de cada critério
+        if (!savedAvaliacao.getComentarios().isEmpty()) {
+            Set<Long> criteriosComentados = new HashSet<>();
+            for (Comentario comentario : savedAvaliacao.getComentarios()) {
+                if (criteriosComentados.add(comentario.getCriterio().getId())) {
+                    topComentarioRepository.inserirSlotSeAusente(professor.getId(), comentario.getCriterio().getId(), comentario.getId());
+                }
+            }
+            topComentarioRepository.atualizarSlotsDaAvaliacao(savedAvaliacao.getId());
+        }
+        // A nota geral do professor é recalculada em segundo plano, depois do commit
+        notaGeralRecalculoQueue.agendar(professor.getId());
         return convertToDto(savedAvaliacao);
     }
 
+    private static boolean violouConstraint(DataIntegrityViolationException e, String constraint) {
+        // O nome vem da mensagem do driver: exato no PostgreSQL, em maiúsculas e qualificado no H2
+        return e.getCause() instanceof ConstraintViolationException violacao
+                && violacao.getConstraintName() != null
+                && violacao.getConstraintName().toLowerCase(Locale.ROOT).contains(constraint);
+    }
+
+    private Map<Long, Criterio> carregarCriterios(AvaliacaoRequest avaliacaoRequest) {
+        Set<Long> ids = new LinkedHashSet<>();
+        avaliacaoRequest.getNotasCriterios().forEach(nota -> ids.add(nota.getCriterioId()));
+        if (avaliacaoRequest.getComentarios() != null) {
+            avaliacaoRequest.getComentarios().forEach(comentario -> ids.add(comentario.getCriterioId()));
+        }
+        Map<Long, Criterio> criterios = criterioRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Criterio::getId, Function.identity()));
+        for (Long id : ids) {
+            if (!criterios.containsKey(id)) {
+                throw new ResourceNotFoundException("Criterio", "id", id);
+            }
+        }
+        return criterios;
+    }
+
     @Transactional(readOnly = true)
     public Page<AvaliacaoPublicDto> getAvaliacoesPublicasPage(Long professorId, Long cadeiraId, String periodo, Pageable pageable) {
-        // Assuming AvaliacaoRepository has a method like findByProfessorIdAndCadeiraIdAndPeriodo(Long professorId, Long cadeiraId, String periodo, Pageable pageable)
-        // Or findByProfessorAndCadeiraAndPeriodo (if entities are passed)
-        // For now, let's assume a method exists that can take Pageable.
-        // If not, this would need a custom query or specification.
-        Page<Avaliacao> avaliacoesPage = avaliacaoRepository.findByProfessorIdAndCadeiraIdAndPeriodo(professorId, cadeiraId, periodo, pageable);
-        return avaliacoesPage.map(this::convertToPublicDto);
+        // Sem período informado, lista todas as avaliações do professor na cadeira
+        Pageable paginaOrdenada = avaliacaoPublicaService.comOrdenacaoPadrao(pageable);
+        Page<Long> ids = (periodo != null && !periodo.isEmpty())
+                ? avaliacaoRepository.findIdsByProfessorAndCadeiraAndPeriodo(professorId, cadeiraId, periodo, paginaOrdenada)
+                : avaliacaoRepository.findIdsByProfessorAndCadeira(professorId, cadeiraId, paginaOrdenada);
+        return avaliacaoPublicaService.carregarPagina(ids);
     }
 
+    /**
+     * Feed por cursor das avaliações de um professor em uma cadeira: a página seguinte é buscada a partir
+     * da última (dataAvaliacao, id) entregue, então o custo não cresce com a profundidade e não há contagem.
+     */
     @Transactional(readOnly = true)
-    public List<AvaliacaoPublicDto> getAvaliacoesPublicas(Long professorId, Long cadeiraId, String periodo) {
-        List<Avaliacao> avaliacoes = avaliacaoRepository.findAvaliacoesByProfessorCadeiraPeriodo(professorId, cadeiraId, periodo);
-        return avaliacoes.stream().map(this::convertToPublicDto).collect(Collectors.toList());
+    public CursorPageDto<AvaliacaoPublicDto> getAvaliacoesPublicasFeed(Long professorId, Long cadeiraId, String periodo, String cursor, int size) {
+        FeedCursor posicao = FeedCursor.decode(cursor);
+        size = FeedCursor.tamanhoDaPagina(size);
+        // Um item a mais indica se existe próxima página
+        List<AvaliacaoFeedView> chaves = avaliacaoRepository.findFeedByProfessorAndCadeira(professorId, cadeiraId,
+                (periodo != null && !periodo.isEmpty()) ? periodo : null,
+                posicao.getInstante(), posicao.getId(), PageRequest.of(0, size + 1));
+
+        boolean hasNext = chaves.size() > size;
+        List<AvaliacaoFeedView> pagina = hasNext ? chaves.subList(0, size) : chaves;
+        List<AvaliacaoPublicDto> avaliacoes = avaliacaoPublicaService.carregar(
+                pagina.stream().map(AvaliacaoFeedView::getId).toList());
+        String nextCursor = null;
+        if (hasNext) {
+            AvaliacaoFeedView ultima = pagina.get(pagina.size() - 1);
+            nextCursor = FeedCursor.depoisDe(ultima.getDataAvaliacao(), ultima.getId()).encode();
+        }
+        return new CursorPageDto<>(avaliacoes, nextCursor, hasNext);
     }
 
-
     private AvaliacaoDto convertToDto(Avaliacao avaliacao) {
         AvaliacaoDto dto = new AvaliacaoDto();
         dto.setId(avaliacao.getId());
@@ -143,22 +219,4 @@ public class AvaliacaoService {
         }).collect(Collectors.toList()));
         return dto;
     }
-
-    private AvaliacaoPublicDto convertToPublicDto(Avaliacao avaliacao) {
-        AvaliacaoPublicDto dto = new AvaliacaoPublicDto();
-        dto.setId(avaliacao.getId());
-        dto.setData(avaliacao.getDataAvaliacao().toString());
-        dto.setPeriodo(avaliacao.getPeriodo());
-        dto.setProfessorNome(avaliacao.getProfessor().getNomeCompleto());
-        dto.setCadeiraNome(avaliacao.getCadeira().getNome());
-
-        dto.setNotas(avaliacao.getNotasCriterio().stream()
-            .map(nc -> new AvaliacaoNotaPublicDto(nc.getCriterio().getNome(), nc.getNota()))
-            .collect(Collectors.toList()));
-
-        dto.setComentarios(avaliacao.getComentarios().stream()
-            .map(c -> new ComentarioPublicDto(c.getId(), c.getTexto(), c.getCriterio() != null ? c.getCriterio().getNome() : "Geral", c.getScore(), c.getCreatedAt()))
-            .collect(Collectors.toList()));
-        return dto;
-    }
 } 
\ No newline at end of file
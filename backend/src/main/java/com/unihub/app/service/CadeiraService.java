@@ -1,5 +1,6 @@
 package com.unihub.app.service;
 
+import com.unihub.app.config.CacheConfig;
 import com.unihub.app.dto.CadeiraDto;
 import com.unihub.app.dto.CadeiraRequest;
 import com.unihub.app.entity.Cadeira;
@@ -9,6 +10,8 @@ import com.unihub.app.exception.ResourceNotFoundException;
 import com.unihub.app.repository.CadeiraRepository;
 import com.unihub.app.service.CursoService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -34,9 +37,11 @@ public class CadeiraService {
         return cadeiraRepository.findAll(pageable).map(this::convertToDto);
     }
 
+    @Cacheable(CacheConfig.CADEIRAS)
     @Transactional(readOnly = true)
     public List<CadeiraDto> getAllCadeirasList() {
-        return cadeiraRepository.findAll().stream().map(this::convertToDto).collect(Collectors.toList());
+        // Lista imutável: a mesma instância é servida pelo cache a todos os chamadores
+        return cadeiraRepository.findAll().stream().map(this::convertToDto).toList();
     }
 
     @Transactional(readOnly = true)
@@ -46,6 +51,7 @@ public class CadeiraService {
         return convertToDto(cadeira);
     }
 
+    @CacheEvict(value = CacheConfig.CADEIRAS, allEntries = true)
     @Transactional
     public CadeiraDto createCadeira(CadeiraRequest cadeiraRequest) {
         Curso curso = cursoService.getCursoEntityById(cadeiraRequest.getCursoId());
@@ -62,6 +68,7 @@ public class CadeiraService {
         return convertToDto(savedCadeira);
     }
 
+    @CacheEvict(value = CacheConfig.CADEIRAS, allEntries = true)
     @Transactional
     public CadeiraDto updateCadeira(Long id, CadeiraRequest cadeiraRequest) {
         Cadeira cadeira = cadeiraRepository.findById(id)
@@ -83,6 +90,7 @@ public class CadeiraService {
         return convertToDto(updatedCadeira);
     }
 
+    @CacheEvict(value = CacheConfig.CADEIRAS, allEntries = true)
     @Transactional
     public void deleteCadeira(Long id) {
         Cadeira cadeira = cadeiraRepository.findById(id)
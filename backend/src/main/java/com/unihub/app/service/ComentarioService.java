@@ -2,10 +2,17 @@ package com.unihub.app.service;
 
 import com.unihub.app.dto.ComentarioDto;
 import com.unihub.app.dto.ComentarioVoteRequest;
-import com.unihub.app.entity.Comentario;
+import com.unihub.app.dto.CursorPageDto;
+import com.unihub.app.entity.ComentarioVoto;
+import com.unihub.app.entity.EVoteType;
 import com.unihub.app.exception.BadRequestException;
 import com.unihub.app.exception.ResourceNotFoundException;
 import com.unihub.app.repository.ComentarioRepository;
+import com.unihub.app.repository.ComentarioVotoRepository;
+import com.unihub.app.repository.TopComentarioRepository;
+import com.unihub.app.repository.projection.ComentarioView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -16,50 +23,106 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 public class ComentarioService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ComentarioService.class);
+
     @Autowired
     private ComentarioRepository comentarioRepository;
 
+    @Autowired
+    private ComentarioVotoRepository comentarioVotoRepository;
+
+    @Autowired
+    private TopComentarioRepository topComentarioRepository;
+
+    @Autowired
+    private CurrentUserService currentUserService;
+
     @Transactional
     public ComentarioDto voteOnComentario(Long comentarioId, ComentarioVoteRequest voteRequest) {
-        Comentario comentario = comentarioRepository.findById(comentarioId)
-                .orElseThrow(() -> new ResourceNotFoundException("Comentario", "id", comentarioId));
-
+        EVoteType tipo;
         if ("UPVOTE".equalsIgnoreCase(voteRequest.getType())) {
-            comentario.setVotosPositivos(comentario.getVotosPositivos() + 1);
+            tipo = EVoteType.UPVOTE;
         } else if ("DOWNVOTE".equalsIgnoreCase(voteRequest.getType())) {
-            comentario.setVotosNegativos(comentario.getVotosNegativos() + 1);
+            tipo = EVoteType.DOWNVOTE;
         } else {
             throw new BadRequestException("Tipo de voto inválido: " + voteRequest.getType());
         }
-        
-        // Garantir que os valores nunca sejam negativos
-        if (comentario.getVotosPositivos() < 0) {
-            comentario.setVotosPositivos(0);
+
+        Long usuarioId = currentUserService.requireCurrentUserId();
+        if (!comentarioRepository.existsById(comentarioId)) {
+            throw new ResourceNotFoundException("Comentario", "id", comentarioId);
+        }
+
+        // Cada transição do voto do usuário é um DML condicional; os contadores só são ajustados
+        // quando a transição de fato ocorreu, então repetir o mesmo voto não altera nada.
+        Optional<EVoteType> atual = comentarioVotoRepository.findTipo(usuarioId, comentarioId);
+        if (atual.isEmpty()) {
+            if (comentarioVotoRepository.inserirSeAusente(usuarioId, comentarioId, tipo.name()) == 1) {
+                ajustarContadores(comentarioId, null, tipo);
+            } else {
+                // Outra requisição do mesmo usuário registrou o voto primeiro
+                atual = comentarioVotoRepository.findTipo(usuarioId, comentarioId);
+            }
         }
-        if (comentario.getVotosNegativos() < 0) {
-            comentario.setVotosNegativos(0);
+        if (atual.isPresent() && atual.get() != tipo
+                && comentarioVotoRepository.trocarTipo(usuarioId, comentarioId, atual.get(), tipo) == 1) {
+            ajustarContadores(comentarioId, atual.get(), tipo);
         }
-        
-        return convertToDto(comentarioRepository.save(comentario));
+
+        return buscarComVotoDoUsuario(comentarioId, tipo);
+    }
+
+    @Transactional
+    public ComentarioDto retractVote(Long comentarioId) {
+        Long usuarioId = currentUserService.requireCurrentUserId();
+
+        Optional<EVoteType> atual = comentarioVotoRepository.findTipo(usuarioId, comentarioId);
+        if (atual.isPresent() && comentarioVotoRepository.remover(usuarioId, comentarioId, atual.get()) == 1) {
+            ajustarContadores(comentarioId, atual.get(), null);
+        }
+
+        return buscarComVotoDoUsuario(comentarioId, null);
+    }
+
+    private void ajustarContadores(Long comentarioId, EVoteType anterior, EVoteType novo) {
+        int deltaPositivos = (novo == EVoteType.UPVOTE ? 1 : 0) - (anterior == EVoteType.UPVOTE ? 1 : 0);
+        int deltaNegativos = (novo == EVoteType.DOWNVOTE ? 1 : 0) - (anterior == EVoteType.DOWNVOTE ? 1 : 0);
+        // O incremento é feito pelo banco (UPDATE ... SET votos = votos + delta), então votos concorrentes
+        // não se sobrescrevem e o lock da linha dura apenas o UPDATE, sem leitura prévia da entidade.
+        if (comentarioRepository.incrementarVotos(comentarioId, deltaPositivos, deltaNegativos) == 0) {
+            throw new ResourceNotFoundException("Comentario", "id", comentarioId);
+        }
+        // O novo score pode mudar o principal comentário do professor no critério
+        topComentarioRepository.atualizarSlotDoComentario(comentarioId);
+    }
+
+    private ComentarioDto buscarComVotoDoUsuario(Long comentarioId, EVoteType votoDoUsuario) {
+        ComentarioDto dto = comentarioRepository.findViewById(comentarioId)
+                .map(this::convertToDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Comentario", "id", comentarioId));
+        dto.setUserVoteType(votoDoUsuario != null ? votoDoUsuario.name() : null);
+        return dto;
     }
 
+    @Transactional(readOnly = true)
     public Page<ComentarioDto> getComentariosPorProfessorECadeira(Long professorId, Long cadeiraId, Pageable pageable) {
-        Page<Comentario> comentarios = comentarioRepository.findComentariosPorProfessorECadeira(professorId, cadeiraId, pageable);
-        return comentarios.map(this::convertToDto);
+        Page<ComentarioView> comentarios = comentarioRepository.findComentariosPorProfessorECadeira(professorId, cadeiraId, pageable);
+        return preencherVotosDoUsuario(comentarios.map(this::convertToDto));
     }
 
+    @Transactional(readOnly = true)
     public Page<ComentarioDto> getComentariosPorCriterioEProfessor(Long professorId, Long criterioId, Long cadeiraId, String periodo, Pageable pageable) {
-        System.out.println("DEBUG - Pageable sort: " + pageable.getSort());
-        System.out.println("DEBUG - cadeiraId: " + cadeiraId + ", periodo: " + periodo);
-        
         // Verificar se a ordenação é por votos e converter para score
         Pageable adjustedPageable = adjustPageableForScore(pageable);
-        System.out.println("DEBUG - Adjusted Pageable sort: " + adjustedPageable.getSort());
+        logger.debug("Comentários do professor {} no critério {}: cadeiraId={}, periodo={}, sort={}, sort ajustado={}",
+                professorId, criterioId, cadeiraId, periodo, pageable.getSort(), adjustedPageable.getSort());
         
         LocalDateTime dataCorte = null;
         if (periodo != null && !periodo.isEmpty()) {
@@ -80,22 +143,79 @@ public class ComentarioService {
             }
         }
         
-        Page<Comentario> comentarios;
+        Page<ComentarioView> comentarios;
         if (cadeiraId == null && dataCorte == null) {
             // Sem filtros - usar query simples
-            comentarios = comentarioRepository.findComentariosPorCriterioEProfessor(professorId, criterioId, pageable);
+            comentarios = comentarioRepository.findComentariosPorCriterioEProfessor(professorId, criterioId, adjustedPageable);
         } else if (cadeiraId != null && dataCorte == null) {
             // Apenas filtro de cadeira
-            comentarios = comentarioRepository.findComentariosPorCriterioEProfessorComCadeira(professorId, criterioId, cadeiraId, pageable);
+            comentarios = comentarioRepository.findComentariosPorCriterioEProfessorComCadeira(professorId, criterioId, cadeiraId, adjustedPageable);
         } else if (cadeiraId == null && dataCorte != null) {
             // Apenas filtro de período
-            comentarios = comentarioRepository.findComentariosPorCriterioEProfessorComPeriodo(professorId, criterioId, dataCorte, pageable);
+            comentarios = comentarioRepository.findComentariosPorCriterioEProfessorComPeriodo(professorId, criterioId, dataCorte, adjustedPageable);
         } else {
             // Ambos os filtros
-            comentarios = comentarioRepository.findComentariosPorCriterioEProfessorComFiltros(professorId, criterioId, cadeiraId, dataCorte, pageable);
+            comentarios = comentarioRepository.findComentariosPorCriterioEProfessorComFiltros(professorId, criterioId, cadeiraId, dataCorte, adjustedPageable);
         }
         
-        return comentarios.map(this::convertToDto);
+        return preencherVotosDoUsuario(comentarios.map(this::convertToDto));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<ComentarioDto> getFeedPorProfessorECadeira(Long professorId, Long cadeiraId, String cursor, int size) {
+        FeedCursor posicao = FeedCursor.decode(cursor);
+        size = FeedCursor.tamanhoDaPagina(size);
+        // Um item a mais indica se existe próxima página
+        List<ComentarioView> comentarios = comentarioRepository.findFeedPorProfessorECadeira(professorId, cadeiraId,
+                posicao.getScore(), posicao.getInstante(), posicao.getId(), PageRequest.of(0, size + 1));
+        return montarFeed(comentarios, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<ComentarioDto> getFeedPorCriterioEProfessor(Long professorId, Long criterioId, Long cadeiraId, String cursor, int size) {
+        FeedCursor posicao = FeedCursor.decode(cursor);
+        size = FeedCursor.tamanhoDaPagina(size);
+        List<ComentarioView> comentarios = comentarioRepository.findFeedPorCriterioEProfessor(professorId, criterioId, cadeiraId,
+                posicao.getScore(), posicao.getInstante(), posicao.getId(), PageRequest.of(0, size + 1));
+        return montarFeed(comentarios, size);
+    }
+
+    private CursorPageDto<ComentarioDto> montarFeed(List<ComentarioView> comentarios, int size) {
+        boolean hasNext = comentarios.size() > size;
+        List<ComentarioDto> pagina = (hasNext ? comentarios.subList(0, size) : comentarios).stream()
+                .map(this::convertToDto)
+                .toList();
+        preencherVotosDoUsuario(pagina);
+
+        String nextCursor = null;
+        if (hasNext) {
+            ComentarioDto ultimo = pagina.get(pagina.size() - 1);
+            nextCursor = FeedCursor.depoisDe(ultimo.getScore(), ultimo.getCreatedAt(), ultimo.getId()).encode();
+        }
+        return new CursorPageDto<>(pagina, nextCursor, hasNext);
+    }
+
+    private Page<ComentarioDto> preencherVotosDoUsuario(Page<ComentarioDto> comentarios) {
+        preencherVotosDoUsuario(comentarios.getContent());
+        return comentarios;
+    }
+
+    /**
+     * Preenche {@code userVoteType} de uma página inteira com uma única consulta ao registro de votos.
+     */
+    private void preencherVotosDoUsuario(List<ComentarioDto> comentarios) {
+        Optional<Long> usuarioId = currentUserService.getCurrentUserId();
+        if (usuarioId.isEmpty() || comentarios.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = comentarios.stream().map(ComentarioDto::getId).toList();
+        Map<Long, EVoteType> votos = comentarioVotoRepository.findByUsuarioIdAndComentarioIdIn(usuarioId.get(), ids).stream()
+                .collect(Collectors.toMap(v -> v.getId().getComentarioId(), ComentarioVoto::getTipo));
+        comentarios.forEach(dto -> {
+            EVoteType tipo = votos.get(dto.getId());
+            dto.setUserVoteType(tipo != null ? tipo.name() : null);
+        });
     }
 
     private Pageable adjustPageableForScore(Pageable original) {
@@ -106,8 +226,11 @@ public class ComentarioService {
         Sort adjustedSort = Sort.unsorted();
         for (Sort.Order order : original.getSort()) {
             if ("votosPositivos".equals(order.getProperty()) || "votosNegativos".equals(order.getProperty())) {
-                // Converter para ordenação por score (votosPositivos - votosNegativos)
-                adjustedSort = adjustedSort.and(Sort.by(order.getDirection(), "score"));
+                // Converter para ordenação pela coluna score (votosPositivos - votosNegativos), que é indexada;
+                // um segundo critério de votos não acrescenta nada
+                if (adjustedSort.getOrderFor("score") == null) {
+                    adjustedSort = adjustedSort.and(Sort.by(order.getDirection(), "score"));
+                }
             } else {
                 adjustedSort = adjustedSort.and(Sort.by(order.getDirection(), order.getProperty()));
             }
@@ -116,25 +239,20 @@ public class ComentarioService {
         return PageRequest.of(original.getPageNumber(), original.getPageSize(), adjustedSort);
     }
 
-    private ComentarioDto convertToDto(Comentario comentario) {
+    private ComentarioDto convertToDto(ComentarioView comentario) {
         ComentarioDto dto = new ComentarioDto();
         dto.setId(comentario.getId());
         dto.setTexto(comentario.getTexto());
-        dto.setAvaliacaoId(comentario.getAvaliacao().getId());
-        dto.setCriterioId(comentario.getCriterio().getId());
-        dto.setCriterioNome(comentario.getCriterio().getNome());
-        
-        // Adicionar nome da cadeira através da avaliação
-        if (comentario.getAvaliacao() != null && comentario.getAvaliacao().getCadeira() != null) {
-            dto.setCadeiraNome(comentario.getAvaliacao().getCadeira().getNome());
-        }
-        
+        dto.setAvaliacaoId(comentario.getAvaliacaoId());
+        dto.setCriterioId(comentario.getCriterioId());
+        dto.setCriterioNome(comentario.getCriterioNome());
+        dto.setCadeiraNome(comentario.getCadeiraNome());
         dto.setVotosPositivos(comentario.getVotosPositivos());
         dto.setVotosNegativos(comentario.getVotosNegativos());
         dto.setScore(comentario.getScore());
         dto.setCreatedAt(comentario.getCreatedAt());
-        // Por enquanto, não controlaremos voto único por usuário
+        // Preenchido em lote por preencherVotosDoUsuario nas listagens
         dto.setUserVoteType(null);
         return dto;
     }
-}
\ No newline at end of file
+}
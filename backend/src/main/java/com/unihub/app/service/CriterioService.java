@@ -1,5 +1,6 @@
 package com.unihub.app.service;
 
+import com.unihub.app.config.CacheConfig;
 import com.unihub.app.dto.CriterioDto;
 import com.unihub.app.dto.CriterioRequest;
 import com.unihub.app.entity.Criterio;
@@ -7,6 +8,8 @@ import com.unihub.app.exception.BadRequestException;
 import com.unihub.app.exception.ResourceNotFoundException;
 import com.unihub.app.repository.CriterioRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -27,11 +30,13 @@ public class CriterioService {
                 .map(this::convertToDto);
     }
 
+    @Cacheable(CacheConfig.CRITERIOS)
     @Transactional(readOnly = true)
     public List<CriterioDto> getAllCriteriosList() {
+        // Lista imutável: a mesma instância é servida pelo cache a todos os chamadores
         return criterioRepository.findAll().stream()
                 .map(this::convertToDto)
-                .collect(Collectors.toList());
+                .toList();
     }
 
     @Transactional(readOnly = true)
@@ -41,6 +46,7 @@ public class CriterioService {
         return convertToDto(criterio);
     }
 
+    @CacheEvict(value = CacheConfig.CRITERIOS, allEntries = true)
     @Transactional
     public CriterioDto createCriterio(CriterioRequest criterioRequest) {
         if (criterioRepository.existsByNome(criterioRequest.getNome())) {
@@ -51,6 +57,7 @@ public class CriterioService {
         return convertToDto(criterioRepository.save(criterio));
     }
 
+    @CacheEvict(value = CacheConfig.CRITERIOS, allEntries = true)
     @Transactional
     public CriterioDto updateCriterio(Long id, CriterioRequest criterioRequest) {
         Criterio criterio = criterioRepository.findById(id)
@@ -63,6 +70,7 @@ public class CriterioService {
         return convertToDto(criterioRepository.save(criterio));
     }
 
+    @CacheEvict(value = CacheConfig.CRITERIOS, allEntries = true)
     @Transactional
     public void deleteCriterio(Long id) {
         Criterio criterio = criterioRepository.findById(id)
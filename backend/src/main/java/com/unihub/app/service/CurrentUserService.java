@@ -0,0 +1,30 @@
+package com.unihub.app.service;
+
+import com.unihub.app.entity.UserPrincipal;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Acesso ao usuário autenticado. O id vem do principal montado pelo {@link com.unihub.app.config.JwtFilter},
+ * sem consulta ao banco; quem precisa associar o usuário usa {@code UserRepository.getReferenceById}.
+ */
+@Service
+public class CurrentUserService {
+
+    public Optional<Long> getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return Optional.ofNullable(principal.getId());
+        }
+        return Optional.empty();
+    }
+
+    public Long requireCurrentUserId() {
+        return getCurrentUserId()
+                .orElseThrow(() -> new AuthenticationCredentialsNotFoundException("Usuário não autenticado"));
+    }
+}
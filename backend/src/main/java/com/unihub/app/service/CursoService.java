@@ -1,5 +1,6 @@
 package com.unihub.app.service;
 
+import com.unihub.app.config.CacheConfig;
 import com.unihub.app.dto.CadeiraSimplificadaDto;
 import com.unihub.app.dto.CursoDto;
 import com.unihub.app.entity.Curso;
@@ -8,6 +9,8 @@ import com.unihub.app.exception.ResourceNotFoundException;
 import com.unihub.app.repository.CadeiraRepository;
 import com.unihub.app.repository.CursoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,11 +29,13 @@ public class CursoService {
         this.cadeiraRepository = cadeiraRepository;
     }
 
+    @Cacheable(CacheConfig.CURSOS)
     @Transactional(readOnly = true)
     public List<CursoDto> getAllCursos() {
+        // Lista imutável: a mesma instância é servida pelo cache a todos os chamadores
         return cursoRepository.findAll().stream()
                 .map(this::convertToDto)
-                .collect(Collectors.toList());
+                .toList();
     }
 
     @Transactional(readOnly = true)
@@ -46,6 +51,7 @@ public class CursoService {
                 .orElseThrow(() -> new ResourceNotFoundException("Curso", "id", id));
     }
 
+    @CacheEvict(value = CacheConfig.CURSOS, allEntries = true)
     @Transactional
     public CursoDto createCurso(CursoDto cursoDto) {
         if (cursoRepository.findByNome(cursoDto.getNome()).isPresent()) {
@@ -56,6 +62,8 @@ public class CursoService {
         return convertToDto(curso);
     }
 
+    // O nome do curso também aparece na lista de cadeiras
+    @CacheEvict(value = {CacheConfig.CURSOS, CacheConfig.CADEIRAS}, allEntries = true)
     @Transactional
     public CursoDto updateCurso(Long id, CursoDto cursoDto) {
         Curso curso = cursoRepository.findById(id)
@@ -70,6 +78,7 @@ public class CursoService {
         return convertToDto(curso);
     }
 
+    @CacheEvict(value = CacheConfig.CURSOS, allEntries = true)
     @Transactional
     public void deleteCurso(Long id) {
         Curso curso = cursoRepository.findById(id)
@@ -0,0 +1,84 @@
+package com.unihub.app.service;
+
+import com.unihub.app.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição de um feed paginado por chave (seek): o último item entregue, na ordem do feed.
+ * Para comentários a chave é (score, createdAt, id); para avaliações, (dataAvaliacao, id), sem score.
+ *
+ * <p>Para o cliente o cursor é opaco (Base64 URL-safe). Sem cursor o feed começa de {@link #inicio()},
+ * uma posição anterior a qualquer item, então a primeira página usa a mesma consulta das demais.
+ */
+public final class FeedCursor {
+
+    private static final String SEPARADOR = "|";
+    private static final int TAMANHO_MAXIMO = 100;
+    private static final LocalDateTime INSTANTE_MAXIMO = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final int score;
+    private final LocalDateTime instante;
+    private final long id;
+
+    private FeedCursor(int score, LocalDateTime instante, long id) {
+        this.score = score;
+        this.instante = instante;
+        this.id = id;
+    }
+
+    public static FeedCursor inicio() {
+        return new FeedCursor(Integer.MAX_VALUE, INSTANTE_MAXIMO, Long.MAX_VALUE);
+    }
+
+    public static FeedCursor depoisDe(int score, LocalDateTime instante, long id) {
+        return new FeedCursor(score, instante, id);
+    }
+
+    public static FeedCursor depoisDe(LocalDateTime instante, long id) {
+        return new FeedCursor(0, instante, id);
+    }
+
+    /**
+     * Tamanho de página pedido pelo cliente, limitado a [1, 100].
+     */
+    public static int tamanhoDaPagina(int pedido) {
+        return Math.max(1, Math.min(pedido, TAMANHO_MAXIMO));
+    }
+
+    public static FeedCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return inicio();
+        }
+        try {
+            String[] partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARADOR);
+            if (partes.length != 3) {
+                throw new BadRequestException("Cursor inválido");
+            }
+            return new FeedCursor(Integer.parseInt(partes[0]), LocalDateTime.parse(partes[1]), Long.parseLong(partes[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Cursor inválido");
+        }
+    }
+
+    public String encode() {
+        String valor = score + SEPARADOR + instante + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public LocalDateTime getInstante() {
+        return instante;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
@@ -2,17 +2,15 @@ package com.unihub.app.service;
 
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwt;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.KeyGenerator;
 import javax.crypto.SecretKey;
-import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -21,16 +19,36 @@ import java.util.function.Function;
 @Service
 public class JwtService {
 
-    private String key = "";
+    // Chave e parser são imutáveis e thread-safe: montados uma vez e reutilizados em toda assinatura/validação.
+    // A chave vem da configuração para que todas as réplicas aceitem os mesmos tokens.
+    private final SecretKey key;
+    private final JwtParser parser;
 
-    public JwtService (){
+    // HS256 exige uma chave de pelo menos 256 bits
+    static final int TAMANHO_MINIMO_CHAVE = 32;
+
+    public JwtService(@Value("${app.jwt.secret:}") String secret) {
+        this.key = Keys.hmacShaKeyFor(decodificarChave(secret));
+        this.parser = Jwts.parser().verifyWith(key).build();
+    }
+
+    // Sem chave padrão: a aplicação não sobe sem JWT_SECRET, em vez de aceitar tokens assinados com uma chave conhecida
+    private static byte[] decodificarChave(String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("app.jwt.secret não configurado: defina JWT_SECRET com uma chave Base64 de pelo menos "
+                    + TAMANHO_MINIMO_CHAVE + " bytes (ex.: openssl rand -base64 32)");
+        }
+        byte[] bytes;
         try {
-            KeyGenerator keyGenerator = KeyGenerator.getInstance("HmacSHA256");
-            SecretKey secretKey = keyGenerator.generateKey();
-            key = Base64.getEncoder().encodeToString(secretKey.getEncoded());
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException(e);
+            bytes = Decoders.BASE64.decode(secret.trim());
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("app.jwt.secret (JWT_SECRET) não é um valor Base64 válido", e);
+        }
+        if (bytes.length < TAMANHO_MINIMO_CHAVE) {
+            throw new IllegalStateException("app.jwt.secret (JWT_SECRET) tem " + bytes.length + " bytes; o mínimo é "
+                    + TAMANHO_MINIMO_CHAVE);
         }
+        return bytes;
     }
 
     public String generateToken(Map<String, Object> claims, String username) {
@@ -42,16 +60,11 @@ public class JwtService {
         return Jwts.builder().claims().add(claims).subject(username).issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + 1000 * 60 * 10))
                 .and()
-                .signWith(getKey())
+                .signWith(key)
                 .compact();
 
     }
 
-    private SecretKey getKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(key);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
     public String extractUserName(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -61,27 +74,21 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Verifica a assinatura e a expiração do token e devolve as claims; lança {@link io.jsonwebtoken.JwtException}
+     * se o token for inválido ou estiver expirado.
+     */
+    public Claims extractAllClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUserName(token);
-        System.out.println("username validate: " + username);
-        System.out.println("Token ta expirado?" + isTokenExpired(token));
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        final Claims claims = extractAllClaims(token);
+        return (claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims));
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
 
@@ -0,0 +1,87 @@
+package com.unihub.app.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Ranking de professores em memória, mantido ordenado em skip-lists concorrentes: o top-N é lido sem ordenar
+ * nada e cada atualização custa O(log n).
+ *
+ * <p>Há duas ordens: pela nota, desempatando pelo total de avaliações e depois pelo id; e pela nota ponderada
+ * (média bayesiana), em que professores com poucas avaliações ficam próximos da média a priori. Quem ainda
+ * não foi avaliado só aparece na ordem pela nota.
+ */
+final class Leaderboard {
+
+    enum Modo { NOTA, PONDERADA }
+
+    record Posicao(long professorId, BigDecimal nota, long totalAvaliacoes, double ponderada) {
+    }
+
+    private static final Comparator<Posicao> POR_NOTA = Comparator
+            .comparing(Posicao::nota, Comparator.reverseOrder())
+            .thenComparing(Posicao::totalAvaliacoes, Comparator.reverseOrder())
+            .thenComparingLong(Posicao::professorId);
+
+    private static final Comparator<Posicao> POR_PONDERADA = Comparator
+            .comparingDouble(Posicao::ponderada).reversed()
+            .thenComparing(Posicao::totalAvaliacoes, Comparator.reverseOrder())
+            .thenComparingLong(Posicao::professorId);
+
+    private final ConcurrentHashMap<Long, Posicao> porProfessor = new ConcurrentHashMap<>();
+    private final NavigableSet<Posicao> porNota = new ConcurrentSkipListSet<>(POR_NOTA);
+    private final NavigableSet<Posicao> porPonderada = new ConcurrentSkipListSet<>(POR_PONDERADA);
+
+    /**
+     * Calcula a posição de um professor; a nota ponderada é {@code (peso * media + n * nota) / (peso + n)}.
+     */
+    static Posicao posicao(long professorId, BigDecimal nota, long totalAvaliacoes, double mediaPrior, double pesoPrior) {
+        double ponderada = (pesoPrior * mediaPrior + totalAvaliacoes * nota.doubleValue()) / (pesoPrior + totalAvaliacoes);
+        return new Posicao(professorId, nota, totalAvaliacoes, ponderada);
+    }
+
+    /**
+     * Insere ou substitui a posição do professor. As atualizações de um mesmo professor são serializadas pelo
+     * compute do mapa, então as skip-lists nunca ficam com duas posições dele.
+     */
+    void atualizar(Posicao nova) {
+        porProfessor.compute(nova.professorId(), (id, antiga) -> {
+            if (antiga != null) {
+                porNota.remove(antiga);
+                porPonderada.remove(antiga);
+            }
+            porNota.add(nova);
+            if (nova.totalAvaliacoes() > 0) {
+                porPonderada.add(nova);
+            }
+            return nova;
+        });
+    }
+
+    void remover(long professorId) {
+        porProfessor.computeIfPresent(professorId, (id, antiga) -> {
+            porNota.remove(antiga);
+            porPonderada.remove(antiga);
+            return null;
+        });
+    }
+
+    List<Posicao> top(int limite, Modo modo) {
+        List<Posicao> top = new ArrayList<>(Math.min(limite, porProfessor.size()));
+        Iterator<Posicao> it = (modo == Modo.PONDERADA ? porPonderada : porNota).iterator();
+        while (top.size() < limite && it.hasNext()) {
+            top.add(it.next());
+        }
+        return top;
+    }
+
+    int tamanho() {
+        return porProfessor.size();
+    }
+}
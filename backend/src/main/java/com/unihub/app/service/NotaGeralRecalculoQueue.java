@@ -0,0 +1,89 @@
+package com.unihub.app.service;
+
+import com.unihub.app.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fila de professores com nota geral a recalcular, tirando o recálculo da transação de quem avalia.
+ *
+ * <p>O id entra na fila depois do commit da avaliação e a fila é um conjunto: enquanto o professor espera,
+ * novas avaliações dele não geram trabalho extra, então uma rajada de avaliações vira um único recálculo.
+ * Um worker esvazia a fila em lotes, um professor por transação. A nota geral (e o ranking em memória) fica
+ * até um intervalo atrás das avaliações; ids ainda na fila quando a aplicação para só são recalculados na
+ * próxima avaliação do professor.
+ */
+@Service
+public class NotaGeralRecalculoQueue {
+
+    public static final String METRIC_NAME = "professores.nota-geral.recalculo.pendentes";
+
+    private static final Logger logger = LoggerFactory.getLogger(NotaGeralRecalculoQueue.class);
+
+    private final ProfessorService professorService;
+    private final int tamanhoDoLote;
+    private final Set<Long> pendentes = ConcurrentHashMap.newKeySet();
+
+    public NotaGeralRecalculoQueue(ProfessorService professorService,
+                                   @Value("${app.nota-geral.recalculo.lote:100}") int tamanhoDoLote,
+                                   MeterRegistry meterRegistry) {
+        this.professorService = professorService;
+        this.tamanhoDoLote = tamanhoDoLote;
+        Gauge.builder(METRIC_NAME, pendentes, Set::size)
+                .description("Professores aguardando o recálculo da nota geral")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Agenda o recálculo para depois do commit da transação corrente; em rollback nada é agendado.
+     */
+    public void agendar(Long professorId) {
+        AposCommit.executar(() -> pendentes.add(professorId));
+    }
+
+    /**
+     * Recalcula um lote de professores pendentes. O id sai da fila antes do recálculo, então uma avaliação
+     * que chega durante o recálculo coloca o professor de volta e nenhuma nota fica para trás.
+     *
+     * @return quantos professores foram processados
+     */
+    @Scheduled(fixedDelayString = "${app.nota-geral.recalculo.intervalo-ms:1000}")
+    public int processarPendentes() {
+        List<Long> lote = new ArrayList<>(Math.min(tamanhoDoLote, pendentes.size()));
+        Iterator<Long> it = pendentes.iterator();
+        while (lote.size() < tamanhoDoLote && it.hasNext()) {
+            lote.add(it.next());
+            it.remove();
+        }
+        for (Long professorId : lote) {
+            try {
+                professorService.calculateAndUpdateNotaGeral(professorId);
+            } catch (ResourceNotFoundException e) {
+                // Professor removido depois de avaliado: não há mais nota a manter
+                logger.debug("Professor {} removido antes do recálculo da nota geral", professorId);
+            } catch (RuntimeException e) {
+                // Não volta para a fila, para não repetir o erro a cada ciclo; a próxima avaliação reagenda
+                logger.error("Falha ao recalcular a nota geral do professor {}", professorId, e);
+            }
+        }
+        if (!lote.isEmpty()) {
+            logger.debug("Notas gerais recalculadas: {} professores, {} ainda na fila", lote.size(), pendentes.size());
+        }
+        return lote.size();
+    }
+
+    int pendentes() {
+        return pendentes.size();
+    }
+}
@@ -0,0 +1,194 @@
+package com.unihub.app.service;
+
+import com.unihub.app.dto.ProfessorPublicDto;
+import com.unihub.app.exception.BadRequestException;
+import com.unihub.app.repository.NotaRollupRepository;
+import com.unihub.app.repository.ProfessorRepository;
+import com.unihub.app.repository.projection.CursoRankingView;
+import com.unihub.app.repository.projection.PeriodoRankingView;
+import com.unihub.app.repository.projection.ProfessorRankingView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rankings de professores servidos da memória: um geral, um por curso e um por período (ver {@link Leaderboard}).
+ *
+ * <p>Carregado do banco quando a aplicação sobe e atualizado, após o commit, a cada recálculo da nota de um
+ * professor. Cada instância da aplicação mantém os seus rankings; uma avaliação registrada em outra instância
+ * só aparece aqui no próximo recálculo desse professor ou no próximo restart.
+ */
+@Service
+public class ProfessorLeaderboard {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfessorLeaderboard.class);
+
+    // Meio da escala de 1 a 5, usado enquanto não há nenhuma nota registrada
+    private static final double MEDIA_PRIOR_PADRAO = 3.0;
+
+    @Autowired
+    private ProfessorRepository professorRepository;
+
+    @Autowired
+    private NotaRollupRepository notaRollupRepository;
+
+    // Quantas avaliações "fictícias" com a média geral entram na nota ponderada de cada professor
+    @Value("${app.leaderboard.peso-prior:10}")
+    private double pesoPrior;
+
+    private final Leaderboard geral = new Leaderboard();
+    private final Map<Long, Leaderboard> porCurso = new ConcurrentHashMap<>();
+    private final Map<String, Leaderboard> porPeriodo = new ConcurrentHashMap<>();
+    private final Map<Long, Identificacao> identificacoes = new ConcurrentHashMap<>();
+
+    // Fixada a cada carga completa, para que as notas ponderadas já ordenadas continuem comparáveis entre si
+    private volatile double mediaPrior = MEDIA_PRIOR_PADRAO;
+
+    private record Identificacao(String nomeCompleto, String photoUrl) {
+    }
+
+    /**
+     * Recarrega todos os rankings a partir do banco (três consultas, independentes do número de professores).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        Double media = notaRollupRepository.calculateAverageNota();
+        mediaPrior = media != null ? media : MEDIA_PRIOR_PADRAO;
+
+        List<ProfessorRankingView> professores = professorRepository.findRanking(null);
+        for (ProfessorRankingView professor : professores) {
+            aplicarGeral(professor);
+        }
+        for (CursoRankingView curso : notaRollupRepository.findRankingPorCurso(null)) {
+            porCurso.computeIfAbsent(curso.getCursoId(), id -> new Leaderboard())
+                    .atualizar(posicao(curso.getProfessorId(), toNota(curso.getNotaMedia()), curso.getTotalAvaliacoes()));
+        }
+        for (PeriodoRankingView periodo : notaRollupRepository.findRankingPorPeriodo(null)) {
+            porPeriodo.computeIfAbsent(periodo.getPeriodo(), p -> new Leaderboard())
+                    .atualizar(posicao(periodo.getProfessorId(), toNota(periodo.getNotaMedia()), periodo.getTotalAvaliacoes()));
+        }
+        logger.info("Ranking de professores carregado: {} professores, {} cursos, {} períodos",
+                professores.size(), porCurso.size(), porPeriodo.size());
+    }
+
+    /**
+     * Relê as posições de um professor (dentro da transação corrente, que já vê a nova avaliação) e as aplica
+     * aos rankings quando ela confirmar; em rollback nada muda.
+     */
+    public void atualizarProfessor(Long professorId) {
+        List<ProfessorRankingView> geralView = professorRepository.findRanking(professorId);
+        List<CursoRankingView> cursos = notaRollupRepository.findRankingPorCurso(professorId);
+        List<PeriodoRankingView> periodos = notaRollupRepository.findRankingPorPeriodo(professorId);
+        AposCommit.executar(() -> {
+            geralView.forEach(this::aplicarGeral);
+
+            Set<Long> cursosDoProfessor = new HashSet<>();
+            for (CursoRankingView curso : cursos) {
+                cursosDoProfessor.add(curso.getCursoId());
+                porCurso.computeIfAbsent(curso.getCursoId(), id -> new Leaderboard())
+                        .atualizar(posicao(professorId, toNota(curso.getNotaMedia()), curso.getTotalAvaliacoes()));
+            }
+            porCurso.forEach((cursoId, ranking) -> {
+                if (!cursosDoProfessor.contains(cursoId)) {
+                    ranking.remover(professorId);
+                }
+            });
+
+            Set<String> periodosDoProfessor = new HashSet<>();
+            for (PeriodoRankingView periodo : periodos) {
+                periodosDoProfessor.add(periodo.getPeriodo());
+                porPeriodo.computeIfAbsent(periodo.getPeriodo(), p -> new Leaderboard())
+                        .atualizar(posicao(professorId, toNota(periodo.getNotaMedia()), periodo.getTotalAvaliacoes()));
+            }
+            porPeriodo.forEach((periodo, ranking) -> {
+                if (!periodosDoProfessor.contains(periodo)) {
+                    ranking.remover(professorId);
+                }
+            });
+        });
+    }
+
+    public void removerProfessor(Long professorId) {
+        AposCommit.executar(() -> {
+            geral.remover(professorId);
+            porCurso.values().forEach(ranking -> ranking.remover(professorId));
+            porPeriodo.values().forEach(ranking -> ranking.remover(professorId));
+            identificacoes.remove(professorId);
+        });
+    }
+
+    /**
+     * Top-N do ranking geral, de um curso ou de um período. A nota devolvida é a do ranking consultado
+     * (a média do professor naquele curso ou período).
+     *
+     * @param modo "nota" (padrão) ou "ponderada"
+     */
+    public List<ProfessorPublicDto> top(int limite, Long cursoId, String periodo, String modo) {
+        Leaderboard.Modo ordem = parseModo(modo);
+        if (cursoId != null && periodo != null && !periodo.isEmpty()) {
+            throw new BadRequestException("Informe apenas um filtro de ranking: curso ou período.");
+        }
+        Leaderboard ranking;
+        if (cursoId != null) {
+            ranking = porCurso.get(cursoId);
+        } else if (periodo != null && !periodo.isEmpty()) {
+            ranking = porPeriodo.get(periodo);
+        } else {
+            ranking = geral;
+        }
+        if (ranking == null || limite <= 0) {
+            return List.of();
+        }
+        return ranking.top(limite, ordem).stream()
+                .map(this::toPublicDto)
+                .filter(dto -> dto.getNomeCompleto() != null)
+                .toList();
+    }
+
+    private void aplicarGeral(ProfessorRankingView professor) {
+        identificacoes.put(professor.getProfessorId(), new Identificacao(professor.getNomeCompleto(), professor.getPhotoUrl()));
+        BigDecimal nota = professor.getNotaGeral() != null ? professor.getNotaGeral().setScale(2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
+        geral.atualizar(posicao(professor.getProfessorId(), nota, professor.getTotalAvaliacoes()));
+    }
+
+    private Leaderboard.Posicao posicao(Long professorId, BigDecimal nota, Long totalAvaliacoes) {
+        return Leaderboard.posicao(professorId, nota, totalAvaliacoes != null ? totalAvaliacoes : 0L, mediaPrior, pesoPrior);
+    }
+
+    private ProfessorPublicDto toPublicDto(Leaderboard.Posicao posicao) {
+        Identificacao identificacao = identificacoes.get(posicao.professorId());
+        // Professor removido entre a leitura do ranking e a montagem da resposta: descartado pelo filtro
+        if (identificacao == null) {
+            return new ProfessorPublicDto(posicao.professorId(), null, null, posicao.nota());
+        }
+        return new ProfessorPublicDto(posicao.professorId(), identificacao.nomeCompleto(), identificacao.photoUrl(), posicao.nota());
+    }
+
+    private static BigDecimal toNota(Double media) {
+        return (media != null) ? BigDecimal.valueOf(media).setScale(2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
+    }
+
+    private static Leaderboard.Modo parseModo(String modo) {
+        if (modo == null || modo.isEmpty()) {
+            return Leaderboard.Modo.NOTA;
+        }
+        try {
+            return Leaderboard.Modo.valueOf(modo.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Modo de ranking inválido: " + modo + " (use 'nota' ou 'ponderada')");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.unihub.app.service;
+
+import com.unihub.app.repository.ProfessorRepository;
+import com.unihub.app.repository.projection.ProfessorNomeView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Busca de professores por nome servida por um {@link TrigramIndex} em memória: ignora acentos e caixa,
+ * casa prefixos e tolera erros de digitação, sem o {@code LIKE '%termo%'} que nenhum índice do banco atende.
+ *
+ * <p>Carregado quando a aplicação sobe e mantido, após o commit, pelos cadastros, edições e remoções de
+ * professores. Como os rankings, é local a cada instância da aplicação.
+ */
+@Service
+public class ProfessorSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfessorSearchIndex.class);
+
+    @Autowired
+    private ProfessorRepository professorRepository;
+
+    private final TrigramIndex indice = new TrigramIndex();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        List<ProfessorNomeView> professores = professorRepository.findAllNomes();
+        indice.carregar(professores.stream()
+                .collect(Collectors.toMap(ProfessorNomeView::getId, ProfessorNomeView::getNomeCompleto)));
+        logger.info("Índice de busca de professores carregado: {} nomes", professores.size());
+    }
+
+    public void indexar(Long professorId, String nomeCompleto) {
+        AposCommit.executar(() -> indice.indexar(professorId, nomeCompleto));
+    }
+
+    public void remover(Long professorId) {
+        AposCommit.executar(() -> indice.remover(professorId));
+    }
+
+    /**
+     * Página de ids dos professores cujo nome casa com o termo, do mais para o menos relevante
+     * (a ordenação do Pageable é ignorada).
+     */
+    public Page<Long> buscar(String termo, Pageable pageable) {
+        int inicio = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), Integer.MAX_VALUE) : 0;
+        int quantidade = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        TrigramIndex.Resultado resultado = indice.buscar(termo, inicio, quantidade);
+        return new PageImpl<>(resultado.ids(), pageable, resultado.total());
+    }
+}
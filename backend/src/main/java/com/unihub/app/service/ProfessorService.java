@@ -5,23 +5,37 @@ import com.unihub.app.entity.*;
 import com.unihub.app.exception.BadRequestException;
 import com.unihub.app.exception.ResourceNotFoundException;
 import com.unihub.app.repository.*;
+import com.unihub.app.repository.projection.CadeiraAgregadoView;
+import com.unihub.app.repository.projection.ComentarioPrincipalView;
+import com.unihub.app.repository.projection.CriterioMediaView;
+import com.unihub.app.repository.projection.ProfessorVersaoView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class ProfessorService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ProfessorService.class);
+
     @Autowired
     private ProfessorRepository professorRepository;
 
@@ -35,16 +49,22 @@ public class ProfessorService {
     private AvaliacaoRepository avaliacaoRepository;
 
     @Autowired
-    private ComentarioRepository comentarioRepository;
+    private TopComentarioRepository topComentarioRepository;
+
+    @Autowired
+    private NotaRollupRepository notaRollupRepository;
+
+    @Autowired
+    private ProfessorLeaderboard professorLeaderboard;
 
     @Autowired
-    private NotaCriterioRepository notaCriterioRepository;
+    private ProfessorSearchIndex professorSearchIndex;
 
     @Transactional(readOnly = true)
     public Page<ProfessorPublicDto> getAllProfessores(Pageable pageable, String nome, String periodo) {
         Page<Professor> professoresPage;
         if (nome != null && !nome.isEmpty()) {
-            professoresPage = professorRepository.findByNomeCompletoContainingIgnoreCase(nome, pageable);
+            return searchProfessoresByNome(nome, pageable);
         } else if (periodo != null && !periodo.isEmpty()) {
             professoresPage = professorRepository.findByPeriodoLecionado(periodo, pageable);
         } else {
@@ -53,22 +73,56 @@ public class ProfessorService {
         return professoresPage.map(this::convertToPublicDto);
     }
 
+    // Servido do ranking em memória, sem consulta ao banco
+    public List<ProfessorPublicDto> getTopProfessores(int limit, Long cursoId, String periodo, String modo) {
+        return professorLeaderboard.top(limit, cursoId, periodo, modo);
+    }
+
+    /**
+     * Busca por nome no índice em memória (sem acentos, por prefixo e tolerante a erros de digitação).
+     * Os resultados vêm por relevância, então a ordenação do Pageable é ignorada; só a página é lida do banco.
+     */
     @Transactional(readOnly = true)
-    public List<ProfessorPublicDto> getTopProfessores(int limit) {
-        return professorRepository.findTopXByOrderByNotaGeralDesc(limit).stream()
+    public Page<ProfessorPublicDto> searchProfessoresByNome(String nome, Pageable pageable) {
+        Page<Long> ids = professorSearchIndex.buscar(nome, pageable);
+        return new PageImpl<>(carregarNaOrdem(ids.getContent()), pageable, ids.getTotalElements());
+    }
+
+    private List<ProfessorPublicDto> carregarNaOrdem(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Professor> porId = professorRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Professor::getId, Function.identity()));
+        // Removido depois da busca no índice (ainda não refletido nele): fica de fora da página
+        return ids.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
                 .map(this::convertToPublicDto)
-                .collect(Collectors.toList());
+                .toList();
     }
 
+    /**
+     * ETag forte dos detalhes de um professor, derivada das versões (timestamps e contagens) das linhas que os compõem;
+     * uma única consulta, que permite responder 304 sem montar os agregados de {@link #getProfessorDetails}.
+     */
     @Transactional(readOnly = true)
-    public Page<ProfessorPublicDto> searchProfessoresByNome(String nome, Pageable pageable) {
-        Page<Professor> professoresPage = professorRepository.findByNomeCompletoContainingIgnoreCase(nome, pageable);
-        return professoresPage.map(this::convertToPublicDto);
+    public String getProfessorDetailsEtag(Long id) {
+        ProfessorVersaoView versao = professorRepository.findVersaoDetalhes(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Professor", "id", id));
+        String chave = id + "|" + versao.getProfessorAtualizadoEm()
+                + "|" + versao.getCadeirasAtualizadasEm() + "|" + versao.getCursosAtualizadosEm() + "|" + versao.getTotalCadeiras()
+                + "|" + versao.getRollupsAtualizadosEm()
+                + "|" + versao.getPrincipaisComentariosAtualizadosEm() + "|" + versao.getComentariosPrincipaisAtualizadosEm()
+                + "|" + versao.getCriteriosAtualizadosEm() + "|" + versao.getTotalCriterios();
+        return "\"" + DigestUtils.md5DigestAsHex(chave.getBytes(StandardCharsets.UTF_8)) + "\"";
     }
 
     @Transactional(readOnly = true)
     public ProfessorDetailDto getProfessorDetails(Long id) {
-        Professor professor = professorRepository.findById(id)
+        // Professor, cadeiras e cursos em uma consulta; os agregados abaixo são uma consulta agrupada cada,
+        // de modo que o total de consultas não depende do número de cadeiras ou critérios.
+        Professor professor = professorRepository.findByIdWithCadeiras(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Professor", "id", id));
         
         ProfessorDetailDto detailDto = new ProfessorDetailDto();
@@ -82,11 +136,14 @@ public class ProfessorService {
             .collect(Collectors.toList()));
 
         // Buscar notas por cadeira
+        Map<Long, CadeiraAgregadoView> agregadosPorCadeira = notaRollupRepository.findAgregadosPorCadeira(id).stream()
+            .collect(Collectors.toMap(CadeiraAgregadoView::getCadeiraId, Function.identity()));
+
         List<CadeiraNotaDto> cadeiraNotas = professor.getCadeiras().stream()
             .map(cadeira -> {
-                Double notaMediaDouble = notaCriterioRepository.calculateAverageNotaByProfessorAndCadeira(id, cadeira.getId());
-                BigDecimal notaMedia = (notaMediaDouble != null) ? BigDecimal.valueOf(notaMediaDouble).setScale(2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
-                Long totalAvaliacoes = notaCriterioRepository.countAvaliacoesByProfessorAndCadeira(id, cadeira.getId());
+                CadeiraAgregadoView agregado = agregadosPorCadeira.get(cadeira.getId());
+                BigDecimal notaMedia = toNota(agregado != null ? agregado.getNotaMedia() : null);
+                Long totalAvaliacoes = agregado != null ? agregado.getTotalAvaliacoes() : null;
                 
                 return new CadeiraNotaDto(
                     cadeira.getId(),
@@ -103,19 +160,24 @@ public class ProfessorService {
         detailDto.setCadeiraNotas(cadeiraNotas);
 
         List<Criterio> criterios = criterioRepository.findAll();
+
+        Map<Long, Double> mediasPorCriterio = notaRollupRepository.findMediasPorCriterio(id).stream()
+            .filter(m -> m.getNotaMedia() != null)
+            .collect(Collectors.toMap(CriterioMediaView::getCriterioId, CriterioMediaView::getNotaMedia));
+
+        Map<Long, ComentarioPrincipalView> principaisComentarios = topComentarioRepository.findPrincipaisComentarios(id).stream()
+            .collect(Collectors.toMap(ComentarioPrincipalView::getCriterioId, Function.identity()));
         
         List<BackendCriterioComMediaDto> backendCriteriosComMedias = criterios.stream().map(criterio -> {
             BackendCriterioDto backendCriterioDto = new BackendCriterioDto();
             backendCriterioDto.setId(criterio.getId());
             backendCriterioDto.setNome(criterio.getNome());
             
-            Double notaMediaDouble = avaliacaoRepository.findAverageNotaForCriterioByProfessor(id, criterio.getId());
-            BigDecimal notaMedia = (notaMediaDouble != null) ? BigDecimal.valueOf(notaMediaDouble).setScale(2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
+            BigDecimal notaMedia = toNota(mediasPorCriterio.get(criterio.getId()));
             
-            List<Comentario> principaisComentarios = comentarioRepository.findPrincipalComentarioPorCriterioEProfessor(id, criterio.getId());
+            ComentarioPrincipalView principalComentario = principaisComentarios.get(criterio.getId());
             ComentarioSimplificadoDto principalComentarioDto = null;
-            if (!principaisComentarios.isEmpty()) {
-                Comentario principalComentario = principaisComentarios.get(0); // Pega o primeiro (maior score)
+            if (principalComentario != null) {
                 principalComentarioDto = new ComentarioSimplificadoDto(principalComentario.getId(), principalComentario.getTexto(), principalComentario.getScore());
             }
             
@@ -145,7 +207,10 @@ public class ProfessorService {
             }
             professor.setCadeiras(cadeiras);
         }
-        return convertToDto(professorRepository.save(professor));
+        Professor savedProfessor = professorRepository.save(professor);
+        professorLeaderboard.atualizarProfessor(savedProfessor.getId());
+        professorSearchIndex.indexar(savedProfessor.getId(), savedProfessor.getNomeCompleto());
+        return convertToDto(savedProfessor);
     }
 
     @Transactional
@@ -168,7 +233,11 @@ public class ProfessorService {
             }
         }
         // A notaGeral é calculada por trigger ou batch, não setada aqui diretamente.
-        return convertToDto(professorRepository.save(professor));
+        Professor savedProfessor = professorRepository.save(professor);
+        // Nome e foto exibidos no ranking
+        professorLeaderboard.atualizarProfessor(id);
+        professorSearchIndex.indexar(id, savedProfessor.getNomeCompleto());
+        return convertToDto(savedProfessor);
     }
 
     @Transactional
@@ -176,28 +245,41 @@ public class ProfessorService {
         Professor professor = professorRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Professor", "id", id));
         professorRepository.delete(professor);
+        professorLeaderboard.removerProfessor(id);
+        professorSearchIndex.remover(id);
     }
 
     @Transactional
     public ProfessorDto addCadeiraToProfessor(Long professorId, Long cadeiraId) {
-        Professor professor = professorRepository.findById(professorId)
-            .orElseThrow(() -> new ResourceNotFoundException("Professor", "id", professorId));
-        Cadeira cadeira = cadeiraRepository.findById(cadeiraId)
-            .orElseThrow(() -> new ResourceNotFoundException("Cadeira", "id", cadeiraId));
-        
-        professor.getCadeiras().add(cadeira);
-        return convertToDto(professorRepository.save(professor));
+        validarProfessorECadeira(professorId, cadeiraId);
+        // Uma linha na tabela de junção; as cadeiras só são carregadas para a resposta
+        if (professorRepository.vincularCadeira(professorId, cadeiraId) > 0) {
+            professorRepository.marcarAlterado(professorId);
+        }
+        return convertToDto(carregarComCadeiras(professorId));
     }
 
     @Transactional
     public ProfessorDto removeCadeiraFromProfessor(Long professorId, Long cadeiraId) {
-        Professor professor = professorRepository.findById(professorId)
-            .orElseThrow(() -> new ResourceNotFoundException("Professor", "id", professorId));
-        Cadeira cadeira = cadeiraRepository.findById(cadeiraId)
-            .orElseThrow(() -> new ResourceNotFoundException("Cadeira", "id", cadeiraId));
+        validarProfessorECadeira(professorId, cadeiraId);
+        if (professorRepository.desvincularCadeira(professorId, cadeiraId) > 0) {
+            professorRepository.marcarAlterado(professorId);
+        }
+        return convertToDto(carregarComCadeiras(professorId));
+    }
+
+    private void validarProfessorECadeira(Long professorId, Long cadeiraId) {
+        if (!professorRepository.existsById(professorId)) {
+            throw new ResourceNotFoundException("Professor", "id", professorId);
+        }
+        if (!cadeiraRepository.existsById(cadeiraId)) {
+            throw new ResourceNotFoundException("Cadeira", "id", cadeiraId);
+        }
+    }
 
-        professor.getCadeiras().remove(cadeira);
-        return convertToDto(professorRepository.save(professor));
+    private Professor carregarComCadeiras(Long professorId) {
+        return professorRepository.findByIdWithCadeiras(professorId)
+            .orElseThrow(() -> new ResourceNotFoundException("Professor", "id", professorId));
     }
 
     @Transactional
@@ -205,10 +287,12 @@ public class ProfessorService {
         Professor professor = professorRepository.findById(professorId)
             .orElseThrow(() -> new ResourceNotFoundException("Professor", "id", professorId));
         
-        Double averageNota = notaCriterioRepository.calculateAverageNotaByProfessorId(professorId);
+        // Média calculada sobre os rollups (uma linha por cadeira/critério/período), não sobre todas as notas
+        Double averageNota = notaRollupRepository.calculateAverageNotaByProfessorId(professorId);
         BigDecimal notaGeral = (averageNota != null) ? BigDecimal.valueOf(averageNota).setScale(2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
         professor.setNotaGeral(notaGeral);
         professorRepository.save(professor);
+        professorLeaderboard.atualizarProfessor(professorId);
         return notaGeral;
     }
 
@@ -222,7 +306,7 @@ public class ProfessorService {
                 // Cadeira.curso is @NotNull and optional=false, so cursoId should not be null here.
                 if (cursoId == null) {
                      // This case should ideally not be reached.
-                    System.err.println("Critical Error: Cadeira with ID " + c.getId() + " has a null Curso associated, despite being mandatory.");
+                    logger.error("Cadeira {} sem curso associado, apesar de obrigatório", c.getId());
                     // Depending on desired strictness, could throw an IllegalStateException.
                     // For now, it will proceed and might lead to issues if CadeiraDto constructor expects non-null cursoId.
                 }
@@ -232,6 +316,10 @@ public class ProfessorService {
         return new ProfessorDto(professor.getId(), professor.getNomeCompleto(), professor.getPhotoUrl(), professor.getNotaGeral(), cadeiraDtos);
     }
 
+    private BigDecimal toNota(Double media) {
+        return (media != null) ? BigDecimal.valueOf(media).setScale(2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
+    }
+
     private ProfessorPublicDto convertToPublicDto(Professor professor) {
         BigDecimal notaGeral = professor.getNotaGeral() != null ? professor.getNotaGeral().setScale(2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
         return new ProfessorPublicDto(professor.getId(), professor.getNomeCompleto(), professor.getPhotoUrl(), notaGeral);
@@ -0,0 +1,275 @@
+package com.unihub.app.service;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Índice de trigramas de nomes em memória, para busca sem acentos, por prefixo e tolerante a erros de digitação.
+ *
+ * <p>Os nomes são normalizados (sem acentos, minúsculos, só letras e dígitos) e cada palavra é quebrada em
+ * trigramas como no pg_trgm ({@code "  joao "} gera {@code "  j", " jo", "joa", "oao", "ao "}). Cada id ganha
+ * uma posição (slot) densa, e cada trigrama aponta para um array ordenado de slots, trocado inteiro a cada
+ * alteração: as escritas (cadastro e edição de professores) são raras e serializadas, e as leituras não
+ * precisam de lock. A contagem de trigramas em comum é feita em um {@code int[]} indexado pelo slot.
+ *
+ * <p>Um nome casa com a busca quando contém pelo menos {@link #SIMILARIDADE_MINIMA} dos trigramas do termo.
+ * Os resultados vêm em faixas: nome começando pelo termo, alguma palavra começando pelo termo, termo no meio
+ * de uma palavra e, por fim, casamentos aproximados; dentro da faixa, pela similaridade e pelo nome.
+ */
+final class TrigramIndex {
+
+    static final double SIMILARIDADE_MINIMA = 0.6;
+
+    record Resultado(List<Long> ids, int total) {
+    }
+
+    private record Candidato(int slot, String nome, int faixa, int acertos) {
+    }
+
+    private static final Comparator<Candidato> RELEVANCIA = Comparator.comparingInt(Candidato::faixa)
+            .thenComparing(Comparator.comparingInt(Candidato::acertos).reversed())
+            .thenComparing(Candidato::nome)
+            .thenComparingInt(Candidato::slot);
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+    private static final int[] VAZIO = new int[0];
+
+    private final Map<Long, Integer> slots = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, int[]> postings = new ConcurrentHashMap<>();
+
+    // Publicados antes dos postings que apontam para os novos slots; um leitor com a versão anterior dos
+    // arrays ignora os slots que ainda não conhece
+    private volatile long[] ids = new long[0];
+    private volatile String[] nomes = new String[0];
+
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADORES.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Substitui todo o conteúdo do índice, montando cada array de slots de uma vez, em vez de um slot por cópia.
+     */
+    synchronized void carregar(Map<Long, String> nomesPorId) {
+        long[] novosIds = new long[nomesPorId.size()];
+        String[] novosNomes = new String[nomesPorId.size()];
+        Map<String, int[]> slotsPorTrigrama = new HashMap<>();
+        Map<String, Integer> tamanhos = new HashMap<>();
+        int slot = 0;
+        for (Map.Entry<Long, String> entrada : nomesPorId.entrySet()) {
+            novosIds[slot] = entrada.getKey();
+            novosNomes[slot] = normalizar(entrada.getValue());
+            for (String trigrama : trigramasDoNome(novosNomes[slot])) {
+                int tamanho = tamanhos.merge(trigrama, 1, Integer::sum);
+                int[] lista = slotsPorTrigrama.computeIfAbsent(trigrama, t -> new int[4]);
+                if (tamanho > lista.length) {
+                    lista = Arrays.copyOf(lista, lista.length * 2);
+                    slotsPorTrigrama.put(trigrama, lista);
+                }
+                lista[tamanho - 1] = slot;
+            }
+            slot++;
+        }
+        postings.clear();
+        slots.clear();
+        ids = novosIds;
+        nomes = novosNomes;
+        for (int i = 0; i < novosIds.length; i++) {
+            slots.put(novosIds[i], i);
+        }
+        // Os slots são atribuídos em ordem crescente, então cada lista já sai ordenada
+        slotsPorTrigrama.forEach((trigrama, lista) -> postings.put(trigrama, Arrays.copyOf(lista, tamanhos.get(trigrama))));
+    }
+
+    /**
+     * Indexa (ou reindexa) um nome.
+     */
+    synchronized void indexar(long id, String nome) {
+        String normalizado = normalizar(nome);
+        Integer slot = slots.get(id);
+        Set<String> antigos = Set.of();
+        if (slot == null) {
+            slot = ids.length;
+            long[] novosIds = Arrays.copyOf(ids, slot + 1);
+            String[] novosNomes = Arrays.copyOf(nomes, slot + 1);
+            novosIds[slot] = id;
+            novosNomes[slot] = normalizado;
+            ids = novosIds;
+            nomes = novosNomes;
+            slots.put(id, slot);
+        } else {
+            if (nomes[slot] != null) {
+                antigos = trigramasDoNome(nomes[slot]);
+            }
+            nomes[slot] = normalizado;
+        }
+        Set<String> novos = trigramasDoNome(normalizado);
+        int s = slot;
+        for (String trigrama : antigos) {
+            if (!novos.contains(trigrama)) {
+                postings.computeIfPresent(trigrama, (t, lista) -> semSlot(lista, s));
+            }
+        }
+        for (String trigrama : novos) {
+            if (!antigos.contains(trigrama)) {
+                postings.merge(trigrama, new int[]{s}, (lista, unico) -> comSlot(lista, s));
+            }
+        }
+    }
+
+    /**
+     * Remove o nome do índice; o slot fica vago (não é reaproveitado).
+     */
+    synchronized void remover(long id) {
+        Integer slot = slots.remove(id);
+        if (slot == null || nomes[slot] == null) {
+            return;
+        }
+        for (String trigrama : trigramasDoNome(nomes[slot])) {
+            postings.computeIfPresent(trigrama, (t, lista) -> semSlot(lista, slot));
+        }
+        nomes[slot] = null;
+    }
+
+    /**
+     * Os {@code quantidade} ids mais relevantes a partir da posição {@code inicio}, e o total de nomes que
+     * casam com o termo. Só a página pedida é ordenada.
+     */
+    Resultado buscar(String termo, int inicio, int quantidade) {
+        String normalizado = normalizar(termo);
+        if (normalizado.isEmpty() || quantidade <= 0) {
+            return new Resultado(List.of(), 0);
+        }
+        long[] idsAtuais = ids;
+        String[] nomesAtuais = nomes;
+        Set<String> trigramas = trigramasDoTermo(normalizado);
+
+        int[] acertos = new int[nomesAtuais.length];
+        int[] tocados = new int[64];
+        int totalTocados = 0;
+        for (String trigrama : trigramas) {
+            for (int slot : postings.getOrDefault(trigrama, VAZIO)) {
+                if (slot < acertos.length && acertos[slot]++ == 0) {
+                    if (totalTocados == tocados.length) {
+                        tocados = Arrays.copyOf(tocados, totalTocados * 2);
+                    }
+                    tocados[totalTocados++] = slot;
+                }
+            }
+        }
+
+        int minimo = (int) Math.ceil(SIMILARIDADE_MINIMA * trigramas.size());
+        int limite = (int) Math.min((long) inicio + quantidade, Integer.MAX_VALUE);
+        // Heap com os "limite" melhores até aqui, o pior no topo
+        PriorityQueue<Candidato> melhores = new PriorityQueue<>(Math.min(limite, 1024), RELEVANCIA.reversed());
+        String inicioDePalavra = " " + normalizado;
+        int total = 0;
+        for (int i = 0; i < totalTocados; i++) {
+            int slot = tocados[i];
+            String nome = nomesAtuais[slot];
+            if (acertos[slot] < minimo || nome == null) {
+                continue;
+            }
+            total++;
+            int faixa = faixa(nome, normalizado, inicioDePalavra);
+            if (melhores.size() == limite) {
+                // Heap cheio: descarta sem alocar quem já perde para o pior pela faixa ou pelos acertos
+                Candidato pior = melhores.peek();
+                if (faixa > pior.faixa() || (faixa == pior.faixa() && acertos[slot] < pior.acertos())) {
+                    continue;
+                }
+            }
+            Candidato candidato = new Candidato(slot, nome, faixa, acertos[slot]);
+            if (melhores.size() < limite) {
+                melhores.add(candidato);
+            } else if (RELEVANCIA.compare(candidato, melhores.peek()) < 0) {
+                melhores.poll();
+                melhores.add(candidato);
+            }
+        }
+
+        List<Candidato> ordenados = new ArrayList<>(melhores);
+        ordenados.sort(RELEVANCIA);
+        List<Long> pagina = new ArrayList<>();
+        for (int i = inicio; i < ordenados.size(); i++) {
+            pagina.add(idsAtuais[ordenados.get(i).slot()]);
+        }
+        return new Resultado(pagina, total);
+    }
+
+    int tamanho() {
+        return slots.size();
+    }
+
+    private static int faixa(String nome, String termo, String inicioDePalavra) {
+        if (nome.startsWith(termo)) {
+            return 0;
+        }
+        if (nome.contains(inicioDePalavra)) {
+            return 1;
+        }
+        return nome.contains(termo) ? 2 : 3;
+    }
+
+    // Trigramas do nome indexado: cada palavra com dois espaços antes e um depois
+    private static Set<String> trigramasDoNome(String normalizado) {
+        Set<String> trigramas = new HashSet<>();
+        for (String palavra : normalizado.split(" ")) {
+            if (!palavra.isEmpty()) {
+                adicionarTrigramas("  " + palavra + " ", trigramas);
+            }
+        }
+        return trigramas;
+    }
+
+    // Trigramas do termo: sem o espaço final, para que a última palavra funcione como prefixo, e com um só
+    // espaço inicial, para que o termo também case no meio de uma palavra (só perde o trigrama de início)
+    private static Set<String> trigramasDoTermo(String normalizado) {
+        Set<String> trigramas = new HashSet<>();
+        for (String palavra : normalizado.split(" ")) {
+            if (!palavra.isEmpty()) {
+                adicionarTrigramas(palavra.length() == 1 ? "  " + palavra : " " + palavra, trigramas);
+            }
+        }
+        return trigramas;
+    }
+
+    private static void adicionarTrigramas(String palavra, Set<String> trigramas) {
+        for (int i = 0; i + 3 <= palavra.length(); i++) {
+            trigramas.add(palavra.substring(i, i + 3));
+        }
+    }
+
+    private static int[] comSlot(int[] lista, int slot) {
+        int posicao = Arrays.binarySearch(lista, slot);
+        if (posicao >= 0) {
+            return lista;
+        }
+        int insercao = -posicao - 1;
+        int[] nova = new int[lista.length + 1];
+        System.arraycopy(lista, 0, nova, 0, insercao);
+        nova[insercao] = slot;
+        System.arraycopy(lista, insercao, nova, insercao + 1, lista.length - insercao);
+        return nova;
+    }
+
+    private static int[] semSlot(int[] lista, int slot) {
+        int posicao = Arrays.binarySearch(lista, slot);
+        if (posicao < 0) {
+            return lista;
+        }
+        if (lista.length == 1) {
+            return null;
+        }
+        int[] nova = new int[lista.length - 1];
+        System.arraycopy(lista, 0, nova, 0, posicao);
+        System.arraycopy(lista, posicao + 1, nova, posicao, lista.length - posicao - 1);
+        return nova;
+    }
+}
@@ -65,7 +65,6 @@ public class UserService {
         user.setUsername(requestDTO.getUsername());
         user.setEmail(requestDTO.getEmail());
         user.setPassword(requestDTO.getPassword());
-        System.out.println("Convert to entity ROLE ATUAL: " + requestDTO.getRole());// Placeholder, será hashado no serviço
         user.setRole(requestDTO.getRole());
         // created_at e updated_at são automáticos via @PrePersist
         return user;
@@ -0,0 +1,18 @@
+-- Total de avaliações por professor e cadeira, mantido por AvaliacaoService.createAvaliacao na mesma
+-- transação da avaliação (INSERT ... ON CONFLICT DO UPDATE). Substitui a contagem em avaliacoes feita
+-- a cada leitura dos detalhes do professor.
+CREATE TABLE IF NOT EXISTS avaliacao_rollups (
+    id               BIGSERIAL PRIMARY KEY,
+    professor_id     BIGINT    NOT NULL REFERENCES professores (id) ON DELETE CASCADE,
+    cadeira_id       BIGINT    NOT NULL REFERENCES cadeiras (id) ON DELETE CASCADE,
+    total_avaliacoes BIGINT    NOT NULL DEFAULT 0,
+    updated_at       TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_avaliacao_rollups_chave UNIQUE (professor_id, cadeira_id)
+);
+
+-- Carga inicial a partir das avaliações já existentes
+INSERT INTO avaliacao_rollups (professor_id, cadeira_id, total_avaliacoes, updated_at)
+SELECT a.professor_id, a.cadeira_id, COUNT(*), CURRENT_TIMESTAMP
+FROM avaliacoes a
+GROUP BY a.professor_id, a.cadeira_id
+ON CONFLICT (professor_id, cadeira_id) DO NOTHING;
@@ -0,0 +1,24 @@
+-- Rollup de notas por professor, cadeira, critério e período.
+-- Mantido incrementalmente por AvaliacaoService.createAvaliacao (INSERT ... ON CONFLICT DO UPDATE).
+CREATE TABLE IF NOT EXISTS nota_rollups (
+    id           BIGSERIAL PRIMARY KEY,
+    professor_id BIGINT      NOT NULL REFERENCES professores (id) ON DELETE CASCADE,
+    cadeira_id   BIGINT      NOT NULL REFERENCES cadeiras (id) ON DELETE CASCADE,
+    criterio_id  BIGINT      NOT NULL REFERENCES criterios (id) ON DELETE CASCADE,
+    periodo      VARCHAR(10) NOT NULL,
+    soma_notas   BIGINT      NOT NULL DEFAULT 0,
+    total_notas  BIGINT      NOT NULL DEFAULT 0,
+    updated_at   TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_nota_rollups_chave UNIQUE (professor_id, cadeira_id, criterio_id, periodo)
+);
+
+-- Contagem de avaliações por professor/cadeira usada junto com os rollups
+CREATE INDEX IF NOT EXISTS idx_avaliacoes_professor_cadeira ON avaliacoes (professor_id, cadeira_id);
+
+-- Carga inicial a partir das notas já existentes
+INSERT INTO nota_rollups (professor_id, cadeira_id, criterio_id, periodo, soma_notas, total_notas, updated_at)
+SELECT a.professor_id, a.cadeira_id, nc.criterio_id, a.periodo, SUM(nc.nota), COUNT(*), CURRENT_TIMESTAMP
+FROM nota_criterios nc
+JOIN avaliacoes a ON a.id = nc.avaliacao_id
+GROUP BY a.professor_id, a.cadeira_id, nc.criterio_id, a.periodo
+ON CONFLICT (professor_id, cadeira_id, criterio_id, periodo) DO NOTHING;
@@ -0,0 +1,8 @@
+-- Um voto por usuário e comentário; os contadores em comentarios são ajustados apenas pela diferença.
+CREATE TABLE IF NOT EXISTS comentario_votos (
+    usuario_id    BIGINT      NOT NULL REFERENCES usuarios (id) ON DELETE CASCADE,
+    comentario_id BIGINT      NOT NULL REFERENCES comentarios (id) ON DELETE CASCADE,
+    tipo          VARCHAR(10) NOT NULL,
+    created_at    TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (usuario_id, comentario_id)
+);
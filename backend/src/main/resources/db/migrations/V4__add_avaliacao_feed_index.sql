@@ -0,0 +1,2 @@
+-- Feed de avaliações por cursor: seek em (data_avaliacao, id) dentro de professor e cadeira
+CREATE INDEX IF NOT EXISTS idx_avaliacoes_feed ON avaliacoes (professor_id, cadeira_id, data_avaliacao DESC, id DESC);
@@ -0,0 +1,21 @@
+-- Score persistido (votos_positivos - votos_negativos), mantido pelo UPDATE atômico dos votos,
+-- e cópias de professor e cadeira da avaliação para que as listagens ordenadas por score
+-- de um professor sejam leituras top-N direto do índice.
+ALTER TABLE comentarios ADD COLUMN IF NOT EXISTS score        INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE comentarios ADD COLUMN IF NOT EXISTS professor_id BIGINT REFERENCES professores (id) ON DELETE CASCADE;
+ALTER TABLE comentarios ADD COLUMN IF NOT EXISTS cadeira_id   BIGINT REFERENCES cadeiras (id) ON DELETE CASCADE;
+
+UPDATE comentarios c
+SET score        = c.votos_positivos - c.votos_negativos,
+    professor_id = a.professor_id,
+    cadeira_id   = a.cadeira_id
+FROM avaliacoes a
+WHERE a.id = c.avaliacao_id;
+
+ALTER TABLE comentarios ALTER COLUMN professor_id SET NOT NULL;
+ALTER TABLE comentarios ALTER COLUMN cadeira_id SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_comentarios_professor_criterio_score
+    ON comentarios (professor_id, criterio_id, score DESC, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_comentarios_professor_cadeira_score
+    ON comentarios (professor_id, cadeira_id, score DESC, created_at DESC, id DESC);
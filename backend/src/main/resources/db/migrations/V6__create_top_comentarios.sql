@@ -0,0 +1,17 @@
+-- Principal comentário (maior score) de cada professor em cada critério.
+-- Criado com as avaliações e reapontado pelos votos (ver TopComentarioRepository).
+CREATE TABLE IF NOT EXISTS top_comentarios (
+    id            BIGSERIAL PRIMARY KEY,
+    professor_id  BIGINT    NOT NULL REFERENCES professores (id) ON DELETE CASCADE,
+    criterio_id   BIGINT    NOT NULL REFERENCES criterios (id) ON DELETE CASCADE,
+    comentario_id BIGINT    NOT NULL REFERENCES comentarios (id) ON DELETE CASCADE,
+    updated_at    TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_top_comentarios_chave UNIQUE (professor_id, criterio_id)
+);
+
+-- Carga inicial a partir dos comentários já existentes
+INSERT INTO top_comentarios (professor_id, criterio_id, comentario_id, updated_at)
+SELECT DISTINCT ON (c.professor_id, c.criterio_id) c.professor_id, c.criterio_id, c.id, CURRENT_TIMESTAMP
+FROM comentarios c
+ORDER BY c.professor_id, c.criterio_id, c.score DESC, c.created_at DESC, c.id DESC
+ON CONFLICT (professor_id, criterio_id) DO NOTHING;
@@ -0,0 +1,3 @@
+-- Cursos passam a ter updated_at como as demais tabelas: o nome do curso entra nos detalhes do professor,
+-- cuja versão (ETag) é derivada dos timestamps.
+ALTER TABLE cursos ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
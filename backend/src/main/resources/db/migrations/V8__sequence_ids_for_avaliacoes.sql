@@ -0,0 +1,18 @@
+-- Avaliações, notas e comentários passam a ter ids de sequence com alocação em blocos de 50 (pooled):
+-- o Hibernate reserva os ids de uma avaliação inteira sem ida ao banco e manda os inserts em lote,
+-- o que IDENTITY impede. A sequence começa acima do maior id existente.
+CREATE SEQUENCE IF NOT EXISTS avaliacoes_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS nota_criterios_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comentarios_seq INCREMENT BY 50;
+
+SELECT setval('avaliacoes_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM avaliacoes));
+SELECT setval('nota_criterios_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM nota_criterios));
+SELECT setval('comentarios_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM comentarios));
+
+-- O id agora vem sempre da aplicação; um default de identity/serial geraria ids dentro dos blocos já reservados
+ALTER TABLE avaliacoes ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE avaliacoes ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE nota_criterios ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE nota_criterios ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE comentarios ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE comentarios ALTER COLUMN id DROP DEFAULT;
@@ -0,0 +1,24 @@
+-- A unicidade (usuário, professor, cadeira, período) passa a ser a própria verificação de avaliação repetida:
+-- createAvaliacao reconhece a violação pelo nome da constraint. O baseline foi criado pelo Hibernate, com um
+-- nome gerado, então a constraint existente é renomeada (ou criada, se faltar).
+DO $$
+DECLARE
+    atual TEXT;
+BEGIN
+    SELECT c.conname INTO atual
+    FROM pg_constraint c
+    WHERE c.conrelid = 'avaliacoes'::regclass
+      AND c.contype = 'u'
+      AND (SELECT array_agg(a.attname::TEXT ORDER BY a.attname)
+           FROM unnest(c.conkey) AS k(attnum)
+           JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = k.attnum)
+          = ARRAY['cadeira_id', 'periodo', 'professor_id', 'usuario_id']
+    LIMIT 1;
+
+    IF atual IS NULL THEN
+        ALTER TABLE avaliacoes ADD CONSTRAINT uk_avaliacoes_usuario_professor_cadeira_periodo
+            UNIQUE (usuario_id, professor_id, cadeira_id, periodo);
+    ELSIF atual <> 'uk_avaliacoes_usuario_professor_cadeira_periodo' THEN
+        EXECUTE format('ALTER TABLE avaliacoes RENAME CONSTRAINT %I TO uk_avaliacoes_usuario_professor_cadeira_periodo', atual);
+    END IF;
+END $$;
@@ -0,0 +1,64 @@
+package com.unihub.app.benchmark;
+
+import com.unihub.app.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKey;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão da validação de tokens: um parse com a chave decodificada e o parser montados a cada chamada
+ * contra o mesmo parse pelo {@link JwtService}, com chave e parser pré-construídos. Os dois lados fazem
+ * exatamente o mesmo trabalho de verificação, então a diferença é só o reaproveitamento da chave e do parser.
+ *
+ * <p>Não roda com os testes. Para executar:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.unihub.app.benchmark.JwtValidationBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "hx6jujeSmEd8BVcGZiI9FP8cenRrIK+wNxEE29TDrnw=";
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET);
+        token = jwtService.generateToken(Map.of("userId", 1L, "role", "ROLE_USER", "email", "usuario"), "usuario@x.com");
+    }
+
+    @Benchmark
+    public Object rebuiltParserValidation() {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        Claims claims = Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+        return claims.getSubject() != null && claims.getExpiration().getTime() > System.currentTimeMillis();
+    }
+
+    @Benchmark
+    public Object cachedParserValidation() {
+        Claims claims = jwtService.extractAllClaims(token);
+        return claims.getSubject() != null && claims.getExpiration().getTime() > System.currentTimeMillis();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtValidationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,114 @@
+package com.unihub.app.config;
+
+import com.unihub.app.entity.ERole;
+import com.unihub.app.entity.User;
+import com.unihub.app.entity.UserPrincipal;
+import com.unihub.app.service.JwtService;
+import com.unihub.app.service.MyUserDetailsService;
+import com.unihub.app.service.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtFilterTest {
+
+    private static final String SECRET = "hx6jujeSmEd8BVcGZiI9FP8cenRrIK+wNxEE29TDrnw=";
+
+    private JwtService jwtService;
+    private ApplicationContext context;
+    private JwtFilter jwtFilter;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = spy(new JwtService(SECRET));
+        context = mock(ApplicationContext.class);
+        jwtFilter = new JwtFilter();
+        ReflectionTestUtils.setField(jwtFilter, "verifiedTokenCache", new VerifiedTokenCache(jwtService, 100, new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(jwtFilter, "context", context);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void statelessMode_buildsPrincipalFromClaimsWithoutLoadingUser() throws Exception {
+        String token = jwtService.generateToken(
+                Map.of("userId", 42L, "role", "ROLE_ADMIN", "email", "usuario"), "usuario@x.com");
+
+        jwtFilter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        assertEquals(42L, principal.getId());
+        assertEquals("usuario@x.com", principal.getUsername());
+        assertEquals(ERole.ROLE_ADMIN, principal.getRole());
+        // O papel vai no principal; as authorities continuam as mesmas do carregamento pelo banco
+        assertEquals(List.of("USER"), authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        verifyNoInteractions(context);
+    }
+
+    @Test
+    void statefulMode_loadsUserFromDatabase() throws Exception {
+        ReflectionTestUtils.setField(jwtFilter, "stateless", false);
+        MyUserDetailsService userDetailsService = mock(MyUserDetailsService.class);
+        when(context.getBean(MyUserDetailsService.class)).thenReturn(userDetailsService);
+        User user = new User("usuario", "usuario@x.com", "hash");
+        user.setId(7L);
+        when(userDetailsService.loadUserByUsername("usuario@x.com")).thenReturn(new UserPrincipal(user));
+        String token = jwtService.generateToken(
+                Map.of("userId", 7L, "role", "ROLE_USER", "email", "usuario"), "usuario@x.com");
+
+        jwtFilter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(7L, ((UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getId());
+        verify(userDetailsService).loadUserByUsername("usuario@x.com");
+    }
+
+    @Test
+    void repeatedToken_isVerifiedOnlyOnce() throws Exception {
+        String token = jwtService.generateToken(
+                Map.of("userId", 42L, "role", "ROLE_USER", "email", "usuario"), "usuario@x.com");
+
+        for (int i = 0; i < 3; i++) {
+            SecurityContextHolder.clearContext();
+            jwtFilter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+            assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        }
+
+        verify(jwtService, times(1)).extractAllClaims(token);
+    }
+
+    @Test
+    void invalidToken_leavesRequestAnonymous() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        jwtFilter.doFilter(requestWithToken("nao.e.um.token"), new MockHttpServletResponse(), chain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertNotNull(chain.getRequest());
+    }
+
+    private static MockHttpServletRequest requestWithToken(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/professores/1");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,42 @@
+package com.unihub.app.config;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCorrelationFilterTest {
+
+    private final RequestCorrelationFilter filter = new RequestCorrelationFilter();
+
+    @Test
+    void reusesValidIncomingRequestId_andClearsMdcAfterwards() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cursos");
+        request.addHeader(RequestCorrelationFilter.HEADER, "abc-123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> noMdc = new AtomicReference<>();
+
+        filter.doFilter(request, response, (req, res) -> noMdc.set(MDC.get(RequestCorrelationFilter.MDC_KEY)));
+
+        assertEquals("abc-123", noMdc.get());
+        assertEquals("abc-123", response.getHeader(RequestCorrelationFilter.HEADER));
+        assertNull(MDC.get(RequestCorrelationFilter.MDC_KEY));
+    }
+
+    @Test
+    void generatesIdWhenHeaderIsMissingOrInvalid() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cursos");
+        request.addHeader(RequestCorrelationFilter.HEADER, "id com espaços\ne quebra de linha");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> { });
+
+        String gerado = response.getHeader(RequestCorrelationFilter.HEADER);
+        assertNotNull(gerado);
+        assertEquals(36, gerado.length());
+    }
+}
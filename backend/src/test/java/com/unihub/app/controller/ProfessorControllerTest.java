@@ -0,0 +1,58 @@
+package com.unihub.app.controller;
+
+import com.unihub.app.dto.ProfessorDetailDto;
+import com.unihub.app.exception.GlobalExceptionHandler;
+import com.unihub.app.service.ProfessorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ProfessorControllerTest {
+
+    private static final String ETAG = "\"abc123\"";
+
+    private MockMvc mockMvc;
+    private ProfessorService professorService;
+
+    @BeforeEach
+    void setup() {
+        professorService = mock(ProfessorService.class);
+        ProfessorController controller = new ProfessorController();
+        ReflectionTestUtils.setField(controller, "professorService", professorService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        when(professorService.getProfessorDetailsEtag(1L)).thenReturn(ETAG);
+    }
+
+    @Test
+    void getProfessorById_returnsBodyWithEtagAndCacheControl() throws Exception {
+        ProfessorDetailDto dto = new ProfessorDetailDto();
+        dto.setId(1L);
+        dto.setNomeCompleto("Ada Lovelace");
+        when(professorService.getProfessorDetails(1L)).thenReturn(dto);
+
+        mockMvc.perform(get("/api/professores/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ETAG))
+                .andExpect(header().string("Cache-Control", "max-age=30, public"))
+                .andExpect(jsonPath("$.nomeCompleto").value("Ada Lovelace"));
+    }
+
+    @Test
+    void getProfessorById_matchingIfNoneMatch_returns304WithoutAggregating() throws Exception {
+        mockMvc.perform(get("/api/professores/1").header("If-None-Match", ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", ETAG))
+                .andExpect(content().string(""));
+
+        verify(professorService, never()).getProfessorDetails(anyLong());
+    }
+}
@@ -1,30 +1,39 @@
 package com.unihub.app.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unihub.app.config.PasswordHashingExecutor;
 import com.unihub.app.dto.RegisterRequest;
 import com.unihub.app.dto.UserDto;
 import com.unihub.app.dto.LoginRequest;
 import com.unihub.app.entity.ERole;
+import com.unihub.app.exception.GlobalExceptionHandler;
 import com.unihub.app.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.MediaType;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 class UserControllerTest {
 
     private MockMvc mockMvc;
     private ObjectMapper objectMapper;
     private UserService userService;
+    private PasswordHashingExecutor passwordHashingExecutor;
 
     @BeforeEach
     void setup() {
@@ -32,7 +41,16 @@ class UserControllerTest {
         userService = mock(UserService.class);
         UserController controller = new UserController();
         ReflectionTestUtils.setField(controller, "userService", userService);
-        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        passwordHashingExecutor = new PasswordHashingExecutor(1, 1, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(controller, "passwordHashingExecutor", passwordHashingExecutor);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingExecutor.shutdown();
     }
 
     @Test
@@ -43,9 +61,13 @@ class UserControllerTest {
 
         when(userService.verify(any(LoginRequest.class))).thenReturn("jwt-token");
 
-        mockMvc.perform(post("/api/users/login")
+        MvcResult result = mockMvc.perform(post("/api/users/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(req)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().string("jwt-token"));
     }
@@ -61,10 +83,45 @@ class UserControllerTest {
         UserDto dto = new UserDto(1L, "john", "john@example.com", ERole.ROLE_USER);
         when(userService.save(any(RegisterRequest.class))).thenReturn(dto);
 
-        mockMvc.perform(post("/api/users/register")
+        MvcResult result = mockMvc.perform(post("/api/users/register")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(req)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isCreated())
                 .andExpect(content().json(objectMapper.writeValueAsString(dto)));
     }
+
+    @Test
+    void login_whenHashingPoolIsSaturated_returns503() throws Exception {
+        // Ocupa a única thread e a única vaga da fila
+        CountDownLatch liberar = new CountDownLatch(1);
+        passwordHashingExecutor.submit(() -> aguardar(liberar));
+        passwordHashingExecutor.submit(() -> aguardar(liberar));
+
+        LoginRequest req = new LoginRequest();
+        req.setUsername("john@example.com");
+        req.setPassword("secret123");
+
+        try {
+            mockMvc.perform(post("/api/users/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(req)))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"));
+        } finally {
+            liberar.countDown();
+        }
+    }
+
+    private static Void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
 }
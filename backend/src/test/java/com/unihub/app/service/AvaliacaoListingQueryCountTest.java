@@ -0,0 +1,175 @@
+package com.unihub.app.service;
+
+import com.unihub.app.dto.AvaliacaoPublicDto;
+import com.unihub.app.dto.ComentarioDto;
+import com.unihub.app.dto.CursorPageDto;
+import com.unihub.app.entity.*;
+import com.unihub.app.exception.BadRequestException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({AvaliacaoService.class, PublicQueryService.class, AvaliacaoPublicaService.class, ProfessorService.class,
+        ProfessorLeaderboard.class, ProfessorSearchIndex.class, ComentarioService.class, CurrentUserService.class,
+        NotaGeralRecalculoQueue.class, SimpleMeterRegistry.class})
+class AvaliacaoListingQueryCountTest {
+
+    // ids da página + contagem + avaliações com professor/cadeira + notas + comentários
+    private static final long MAX_STATEMENTS_POR_PAGINA = 5;
+    // Feed por cursor: chaves da página + avaliações + notas + comentários, sem contagem
+    private static final long MAX_STATEMENTS_POR_PAGINA_FEED = 4;
+    private static final int TAMANHO_PAGINA = 20;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AvaliacaoService avaliacaoService;
+
+    @Autowired
+    private PublicQueryService publicQueryService;
+
+    @Autowired
+    private ComentarioService comentarioService;
+
+    private Statistics statistics;
+    private Professor professor;
+    private Cadeira cadeira;
+    private List<Criterio> criterios;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Curso curso = em.persist(new Curso("Curso Listagem"));
+        cadeira = em.persist(new Cadeira("Cadeira Listagem", 60, false, curso));
+        professor = new Professor("Professor Listagem", null);
+        professor.getCadeiras().add(cadeira);
+        em.persist(professor);
+        criterios = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            criterios.add(em.persist(new Criterio("Criterio Listagem " + i)));
+        }
+
+        // 45 avaliações em três períodos, cada uma com nota e comentário em todos os critérios
+        for (int n = 0; n < 45; n++) {
+            User user = em.persist(new User("leitor" + n, "leitor" + n + "@x.com", "hash"));
+            Avaliacao avaliacao = new Avaliacao("2024." + (n % 3 + 1), user, professor, cadeira);
+            for (Criterio criterio : criterios) {
+                avaliacao.addNotaCriterio(new NotaCriterio(avaliacao, criterio, 1 + n % 5));
+                avaliacao.addComentario(new Comentario("Comentário " + n, avaliacao, criterio));
+            }
+            em.persist(avaliacao);
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void getAvaliacoesPublicasPage_usesFixedNumberOfStatementsPerPage() {
+        statistics.clear();
+        Page<AvaliacaoPublicDto> pagina = avaliacaoService.getAvaliacoesPublicasPage(
+                professor.getId(), cadeira.getId(), null, PageRequest.of(0, TAMANHO_PAGINA));
+
+        assertTrue(statistics.getPrepareStatementCount() <= MAX_STATEMENTS_POR_PAGINA,
+                "listagem executou " + statistics.getPrepareStatementCount() + " statements");
+        // Sem período, todas as avaliações do professor na cadeira entram na listagem
+        assertEquals(45, pagina.getTotalElements());
+        assertEquals(TAMANHO_PAGINA, pagina.getContent().size());
+        for (AvaliacaoPublicDto dto : pagina.getContent()) {
+            assertEquals("Professor Listagem", dto.getProfessorNome());
+            assertEquals("Cadeira Listagem", dto.getCadeiraNome());
+            assertEquals(criterios.size(), dto.getNotas().size());
+            assertEquals(criterios.size(), dto.getComentarios().size());
+        }
+    }
+
+    @Test
+    void getAvaliacoesPublicasPage_filtersByPeriodo() {
+        Page<AvaliacaoPublicDto> pagina = avaliacaoService.getAvaliacoesPublicasPage(
+                professor.getId(), cadeira.getId(), "2024.2", PageRequest.of(0, TAMANHO_PAGINA));
+
+        assertEquals(15, pagina.getTotalElements());
+        assertTrue(pagina.getContent().stream().allMatch(dto -> "2024.2".equals(dto.getPeriodo())));
+    }
+
+    @Test
+    void getCriterionEvaluationHistory_usesFixedNumberOfStatementsPerPage() {
+        statistics.clear();
+        Page<AvaliacaoPublicDto> pagina = publicQueryService.getCriterionEvaluationHistory(
+                professor.getId(), criterios.get(0).getId(), null, PageRequest.of(1, TAMANHO_PAGINA));
+
+        assertTrue(statistics.getPrepareStatementCount() <= MAX_STATEMENTS_POR_PAGINA,
+                "listagem executou " + statistics.getPrepareStatementCount() + " statements");
+        assertEquals(45, pagina.getTotalElements());
+        assertEquals(TAMANHO_PAGINA, pagina.getContent().size());
+        assertTrue(pagina.getContent().stream().allMatch(dto -> dto.getNotas().size() == criterios.size()));
+    }
+
+    @Test
+    void getAvaliacoesPublicasFeed_walksAllPagesWithCursor() {
+        Set<Long> vistos = new HashSet<>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            statistics.clear();
+            CursorPageDto<AvaliacaoPublicDto> pagina = avaliacaoService.getAvaliacoesPublicasFeed(
+                    professor.getId(), cadeira.getId(), null, cursor, TAMANHO_PAGINA);
+            assertTrue(statistics.getPrepareStatementCount() <= MAX_STATEMENTS_POR_PAGINA_FEED,
+                    "feed executou " + statistics.getPrepareStatementCount() + " statements");
+            pagina.getContent().forEach(dto -> assertTrue(vistos.add(dto.getId()), "avaliação repetida " + dto.getId()));
+            assertEquals(pagina.isHasNext(), pagina.getNextCursor() != null);
+            cursor = pagina.getNextCursor();
+            paginas++;
+        } while (cursor != null);
+
+        assertEquals(45, vistos.size());
+        assertEquals(3, paginas);
+    }
+
+    @Test
+    void getFeedPorCriterioEProfessor_walksAllCommentsWithCursor() {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDto<ComentarioDto> pagina = comentarioService.getFeedPorCriterioEProfessor(
+                    professor.getId(), criterios.get(0).getId(), cadeira.getId(), cursor, 10);
+            pagina.getContent().forEach(dto -> ids.add(dto.getId()));
+            cursor = pagina.getNextCursor();
+        } while (cursor != null);
+
+        // Todos com score 0: o desempate por createdAt e id não pode repetir nem pular comentários
+        assertEquals(45, ids.size());
+        assertEquals(45, new HashSet<>(ids).size());
+    }
+
+    @Test
+    void feed_rejectsInvalidCursor() {
+        assertThrows(BadRequestException.class, () -> avaliacaoService.getAvaliacoesPublicasFeed(
+                professor.getId(), cadeira.getId(), null, "nao-e-um-cursor", TAMANHO_PAGINA));
+    }
+}
@@ -0,0 +1,148 @@
+package com.unihub.app.service;
+
+import com.unihub.app.dto.AvaliacaoRequest;
+import com.unihub.app.dto.BackendCriterioComMediaDto;
+import com.unihub.app.dto.CadeiraNotaDto;
+import com.unihub.app.dto.ComentarioRequest;
+import com.unihub.app.dto.NotaCriterioRequest;
+import com.unihub.app.dto.ProfessorDetailDto;
+import com.unihub.app.entity.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Gravação de avaliações contra um PostgreSQL real: os rollups são mantidos por upserts nativos
+ * (INSERT ... ON CONFLICT DO UPDATE) que o H2 dos demais testes não executa. Sem Docker, a classe é ignorada.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({AvaliacaoService.class, AvaliacaoPublicaService.class, CurrentUserService.class, ProfessorService.class,
+        ProfessorLeaderboard.class, ProfessorSearchIndex.class, NotaGeralRecalculoQueue.class, SimpleMeterRegistry.class})
+class AvaliacaoRollupPostgresTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private AvaliacaoService avaliacaoService;
+
+    @Autowired
+    private ProfessorService professorService;
+
+    private Professor professor;
+    private Cadeira cadeira;
+    private List<Criterio> criterios;
+
+    @BeforeEach
+    void setUp() {
+        Curso curso = em.persist(new Curso("Curso Rollup"));
+        cadeira = em.persist(new Cadeira("Cadeira Rollup", 60, false, curso));
+        professor = new Professor("Professor Rollup", null);
+        professor.getCadeiras().add(cadeira);
+        em.persist(professor);
+        criterios = List.of(em.persist(new Criterio("Criterio Rollup 0")), em.persist(new Criterio("Criterio Rollup 1")));
+        em.flush();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void createAvaliacao_insertsAndThenAccumulatesTheRollups() {
+        // A primeira avaliação de cada chave insere a linha; as seguintes caem no ON CONFLICT e somam
+        avaliar("primeiro", "2024.1", 4);
+        avaliar("segundo", "2024.1", 2);
+        avaliar("terceiro", "2024.2", 5);
+        em.clear();
+
+        for (Criterio criterio : criterios) {
+            assertRollup(criterio, "2024.1", 6, 2);
+            assertRollup(criterio, "2024.2", 5, 1);
+        }
+        AvaliacaoRollup porCadeira = em.getEntityManager()
+                .createQuery("SELECT r FROM AvaliacaoRollup r WHERE r.professor.id = :professorId", AvaliacaoRollup.class)
+                .setParameter("professorId", professor.getId())
+                .getSingleResult();
+        assertEquals(cadeira.getId(), porCadeira.getCadeira().getId());
+        assertEquals(3L, porCadeira.getTotalAvaliacoes());
+
+        // Os detalhes do professor são montados só a partir dos rollups e dos slots de principal comentário
+        ProfessorDetailDto detalhes = professorService.getProfessorDetails(professor.getId());
+        CadeiraNotaDto cadeiraNota = detalhes.getCadeiraNotas().get(0);
+        assertEquals(3L, cadeiraNota.getTotalAvaliacoes());
+        assertEquals(new BigDecimal("3.67"), cadeiraNota.getNotaMedia());
+        List<BackendCriterioComMediaDto> avaliados = detalhes.getCriteriosComMedias().stream()
+                .filter(c -> c.getTopComentario() != null)
+                .toList();
+        assertEquals(criterios.size(), avaliados.size());
+        avaliados.forEach(c -> assertEquals(new BigDecimal("3.67"), c.getMediaNotas()));
+
+        assertEquals(new BigDecimal("3.67"), professorService.calculateAndUpdateNotaGeral(professor.getId()));
+    }
+
+    private void assertRollup(Criterio criterio, String periodo, long somaNotas, long totalNotas) {
+        NotaRollup rollup = em.getEntityManager()
+                .createQuery("SELECT r FROM NotaRollup r WHERE r.professor.id = :professorId AND r.cadeira.id = :cadeiraId " +
+                             "AND r.criterio.id = :criterioId AND r.periodo = :periodo", NotaRollup.class)
+                .setParameter("professorId", professor.getId())
+                .setParameter("cadeiraId", cadeira.getId())
+                .setParameter("criterioId", criterio.getId())
+                .setParameter("periodo", periodo)
+                .getSingleResult();
+        assertEquals(somaNotas, rollup.getSomaNotas());
+        assertEquals(totalNotas, rollup.getTotalNotas());
+    }
+
+    private void avaliar(String autor, String periodo, int nota) {
+        User user = em.persistAndFlush(new User(autor, autor + "@x.com", "hash"));
+        UserPrincipal principal = new UserPrincipal(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        AvaliacaoRequest request = new AvaliacaoRequest();
+        request.setProfessorId(professor.getId());
+        request.setCadeiraId(cadeira.getId());
+        request.setPeriodo(periodo);
+        List<NotaCriterioRequest> notas = new ArrayList<>();
+        List<ComentarioRequest> comentarios = new ArrayList<>();
+        for (Criterio criterio : criterios) {
+            NotaCriterioRequest notaCriterio = new NotaCriterioRequest();
+            notaCriterio.setCriterioId(criterio.getId());
+            notaCriterio.setNota(nota);
+            notas.add(notaCriterio);
+            ComentarioRequest comentario = new ComentarioRequest();
+            comentario.setCriterioId(criterio.getId());
+            comentario.setTexto("Comentário de " + autor);
+            comentarios.add(comentario);
+        }
+        request.setNotasCriterios(notas);
+        request.setComentarios(comentarios);
+        assertNotNull(avaliacaoService.createAvaliacao(request).getId());
+    }
+}
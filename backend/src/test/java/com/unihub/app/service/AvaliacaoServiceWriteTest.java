@@ -0,0 +1,170 @@
+package com.unihub.app.service;
+
+import com.unihub.app.dto.AvaliacaoRequest;
+import com.unihub.app.dto.ComentarioRequest;
+import com.unihub.app.dto.NotaCriterioRequest;
+import com.unihub.app.entity.*;
+import com.unihub.app.exception.BadRequestException;
+import com.unihub.app.exception.ResourceNotFoundException;
+import com.unihub.app.repository.AvaliacaoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({AvaliacaoService.class, AvaliacaoPublicaService.class, CurrentUserService.class, ProfessorService.class,
+        ProfessorLeaderboard.class, ProfessorSearchIndex.class, NotaGeralRecalculoQueue.class, SimpleMeterRegistry.class})
+class AvaliacaoServiceWriteTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AvaliacaoService avaliacaoService;
+
+    @Autowired
+    private AvaliacaoRepository avaliacaoRepository;
+
+    private Statistics statistics;
+    private Professor professor;
+    private Cadeira cadeira;
+    private List<Criterio> criterios;
+    private Avaliacao existente;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Curso curso = em.persist(new Curso("Curso Escrita"));
+        cadeira = em.persist(new Cadeira("Cadeira Escrita", 60, false, curso));
+        professor = new Professor("Professor Escrita", null);
+        professor.getCadeiras().add(cadeira);
+        em.persist(professor);
+        criterios = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            criterios.add(em.persist(new Criterio("Criterio Escrita " + i)));
+        }
+        // Avaliações já existentes; as duas gravações também fazem as duas leituras iniciais
+        // das sequences (otimizador pooled), que de outro modo entrariam nas contagens abaixo
+        existente = em.persist(avaliacao("existente", criterios.subList(0, 1)));
+        em.flush();
+        em.persist(avaliacao("anterior", criterios.subList(0, 1)));
+        em.flush();
+    }
+
+    @Test
+    void saveAvaliacao_batchesTheAggregateInserts() {
+        Avaliacao pequena = avaliacao("pequena", criterios.subList(0, 1));
+        Avaliacao grande = avaliacao("grande", criterios);
+        em.flush();
+
+        // Mesma gravação do createAvaliacao (saveAndFlush da avaliação com notas e comentários em cascata)
+        statistics.clear();
+        avaliacaoRepository.saveAndFlush(pequena);
+        long statementsPequena = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        avaliacaoRepository.saveAndFlush(grande);
+        long statementsGrande = statistics.getPrepareStatementCount();
+
+        // 1 avaliação + 6 notas + 6 comentários: ids reservados em bloco pela sequence e um lote por tabela
+        assertEquals(13, statistics.getEntityInsertCount());
+        assertEquals(3, statementsGrande);
+        assertEquals(statementsPequena, statementsGrande);
+    }
+
+    @Test
+    void createAvaliacao_resolvesCriteriosInOneQueryAndRejectsUnknownIds() {
+        autenticar(em.persist(new User("avaliador", "avaliador@x.com", "hash")));
+        em.flush();
+        em.clear();
+
+        statistics.clear();
+        assertThrows(ResourceNotFoundException.class,
+                () -> avaliacaoService.createAvaliacao(requisicao(List.of(-1L))));
+        long statementsUmCriterio = statistics.getPrepareStatementCount();
+
+        // Notas e comentários em todos os critérios, mais um id inexistente no fim
+        List<Long> ids = new ArrayList<>(criterios.stream().map(Criterio::getId).toList());
+        ids.add(-1L);
+        em.clear();
+        statistics.clear();
+        ResourceNotFoundException erro = assertThrows(ResourceNotFoundException.class,
+                () -> avaliacaoService.createAvaliacao(requisicao(ids)));
+
+        assertEquals(statementsUmCriterio, statistics.getPrepareStatementCount());
+        assertTrue(erro.getMessage().contains("-1"));
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void createAvaliacao_rejectsRepeatedEvaluationThroughTheUniqueConstraint() {
+        autenticar(existente.getUser());
+        em.clear();
+
+        BadRequestException erro = assertThrows(BadRequestException.class,
+                () -> avaliacaoService.createAvaliacao(requisicao(List.of(criterios.get(0).getId()))));
+
+        assertEquals("Usuário já avaliou este professor nesta cadeira para o período 2025.1", erro.getMessage());
+        SecurityContextHolder.clearContext();
+    }
+
+    private Avaliacao avaliacao(String autor, List<Criterio> avaliados) {
+        User user = em.persist(new User(autor, autor + "@x.com", "hash"));
+        Avaliacao avaliacao = new Avaliacao("2025.1", user, professor, cadeira);
+        for (Criterio criterio : avaliados) {
+            avaliacao.addNotaCriterio(new NotaCriterio(avaliacao, criterio, 4));
+            avaliacao.addComentario(new Comentario("Comentário de " + autor, avaliacao, criterio));
+        }
+        return avaliacao;
+    }
+
+    private static void autenticar(User user) {
+        UserPrincipal principal = new UserPrincipal(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private AvaliacaoRequest requisicao(List<Long> criterioIds) {
+        AvaliacaoRequest request = new AvaliacaoRequest();
+        request.setProfessorId(professor.getId());
+        request.setCadeiraId(cadeira.getId());
+        request.setPeriodo("2025.1");
+        List<NotaCriterioRequest> notas = new ArrayList<>();
+        List<ComentarioRequest> comentarios = new ArrayList<>();
+        for (Long criterioId : criterioIds) {
+            NotaCriterioRequest nota = new NotaCriterioRequest();
+            nota.setCriterioId(criterioId);
+            nota.setNota(4);
+            notas.add(nota);
+            ComentarioRequest comentario = new ComentarioRequest();
+            comentario.setCriterioId(criterioId);
+            comentario.setTexto("Comentário");
+            comentarios.add(comentario);
+        }
+        request.setNotasCriterios(notas);
+        request.setComentarios(comentarios);
+        return request;
+    }
+}
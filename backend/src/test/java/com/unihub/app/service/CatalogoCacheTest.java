@@ -0,0 +1,105 @@
+package com.unihub.app.service;
+
+import com.unihub.app.config.CacheConfig;
+import com.unihub.app.dto.CadeiraRequest;
+import com.unihub.app.dto.CriterioDto;
+import com.unihub.app.dto.CriterioRequest;
+import com.unihub.app.dto.CursoDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE) // @DataJpaTest usa CacheType.NONE por padrão
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CacheConfig.class, CursoService.class, CadeiraService.class, CriterioService.class})
+class CatalogoCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CursoService cursoService;
+
+    @Autowired
+    private CadeiraService cadeiraService;
+
+    @Autowired
+    private CriterioService criterioService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        cacheManager.getCacheNames().forEach(nome -> cacheManager.getCache(nome).clear());
+    }
+
+    @Test
+    void listas_saoServidasDoCacheSemSql() {
+        criterioService.createCriterio(criterio("Didática"));
+        criterioService.getAllCriteriosList();
+        cursoService.getAllCursos();
+        cadeiraService.getAllCadeirasList();
+
+        statistics.clear();
+        assertEquals(1, criterioService.getAllCriteriosList().size());
+        cursoService.getAllCursos();
+        cadeiraService.getAllCadeirasList();
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void escritas_invalidamAsListas() {
+        criterioService.createCriterio(criterio("Didática"));
+        assertEquals(1, criterioService.getAllCriteriosList().size());
+
+        CriterioDto avaliacao = criterioService.createCriterio(criterio("Avaliação"));
+        assertEquals(2, criterioService.getAllCriteriosList().size());
+
+        criterioService.deleteCriterio(avaliacao.getId());
+        assertEquals(List.of("Didática"), criterioService.getAllCriteriosList().stream().map(CriterioDto::getNome).toList());
+    }
+
+    @Test
+    void renomearCurso_invalidaTambemAsCadeiras() {
+        CursoDto curso = cursoService.createCurso(new CursoDto(null, "Computação"));
+        CadeiraRequest cadeira = new CadeiraRequest();
+        cadeira.setNome("Algoritmos");
+        cadeira.setCargaHoraria(60);
+        cadeira.setIsEletiva(false);
+        cadeira.setCursoId(curso.getId());
+        cadeiraService.createCadeira(cadeira);
+        assertEquals("Computação", cadeiraService.getAllCadeirasList().get(0).getCursoNome());
+
+        cursoService.updateCurso(curso.getId(), new CursoDto(curso.getId(), "Ciência da Computação"));
+
+        assertEquals("Ciência da Computação", cadeiraService.getAllCadeirasList().get(0).getCursoNome());
+        assertEquals("Ciência da Computação", cursoService.getAllCursos().get(0).getNome());
+    }
+
+    private static CriterioRequest criterio(String nome) {
+        CriterioRequest request = new CriterioRequest();
+        request.setNome(nome);
+        return request;
+    }
+}
@@ -0,0 +1,130 @@
+package com.unihub.app.service;
+
+import com.unihub.app.dto.ComentarioDto;
+import com.unihub.app.dto.ComentarioVoteRequest;
+import com.unihub.app.entity.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ComentarioService.class, CurrentUserService.class})
+class ComentarioListingTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ComentarioService comentarioService;
+
+    private Long professorId;
+    private Long cadeiraId;
+    private Long criterioId;
+    private Long comentarioId;
+
+    @BeforeEach
+    void setUp() {
+        Curso curso = em.persist(new Curso("Curso Listagem Comentarios"));
+        Cadeira cadeira = em.persist(new Cadeira("Cadeira Comentarios", 60, false, curso));
+        Professor professor = new Professor("Professor Comentarios", null);
+        professor.getCadeiras().add(cadeira);
+        em.persist(professor);
+        Criterio criterio = em.persist(new Criterio("Criterio Comentarios"));
+        User autor = em.persist(new User("autor_comentarios", "autor_comentarios@x.com", "hash"));
+
+        Avaliacao avaliacao = new Avaliacao("2024.1", autor, professor, cadeira);
+        avaliacao.addNotaCriterio(new NotaCriterio(avaliacao, criterio, 5));
+        Comentario comentario = new Comentario("Muito bom", avaliacao, criterio);
+        avaliacao.addComentario(comentario);
+        em.persist(avaliacao);
+        em.flush();
+        em.clear();
+
+        professorId = professor.getId();
+        cadeiraId = cadeira.getId();
+        criterioId = criterio.getId();
+        comentarioId = comentario.getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getComentarios_fillsUserVoteTypeForThePage() {
+        autenticar(em.persistAndFlush(new User("leitor", "leitor@x.com", "hash")));
+        comentarioService.voteOnComentario(comentarioId, voto("DOWNVOTE"));
+
+        Page<ComentarioDto> pagina = comentarioService.getComentariosPorProfessorECadeira(
+                professorId, cadeiraId, PageRequest.of(0, 10));
+
+        assertEquals(1, pagina.getTotalElements());
+        assertEquals(comentarioId, pagina.getContent().get(0).getId());
+        assertEquals("DOWNVOTE", pagina.getContent().get(0).getUserVoteType());
+    }
+
+    @Test
+    void getComentariosPorCriterio_mapsProjectionFields() {
+        Page<ComentarioDto> pagina = comentarioService.getComentariosPorCriterioEProfessor(
+                professorId, criterioId, cadeiraId, "ultimo-mes",
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt")));
+
+        assertEquals(1, pagina.getTotalElements());
+        ComentarioDto dto = pagina.getContent().get(0);
+        assertEquals(comentarioId, dto.getId());
+        assertEquals("Muito bom", dto.getTexto());
+        assertEquals(criterioId, dto.getCriterioId());
+        assertEquals("Criterio Comentarios", dto.getCriterioNome());
+        assertEquals("Cadeira Comentarios", dto.getCadeiraNome());
+        assertEquals(0, dto.getScore());
+        assertNull(dto.getUserVoteType());
+    }
+
+    @Test
+    void getComentariosPorCriterio_sortsByVotesThroughThePersistedScore() {
+        Comentario existente = em.find(Comentario.class, comentarioId);
+        Comentario menosVotado = new Comentario("Outro ponto de vista", existente.getAvaliacao(), existente.getCriterio());
+        em.persistAndFlush(menosVotado);
+        autenticar(em.persistAndFlush(new User("eleitor", "eleitor@x.com", "hash")));
+        comentarioService.voteOnComentario(comentarioId, voto("UPVOTE"));
+        comentarioService.voteOnComentario(menosVotado.getId(), voto("DOWNVOTE"));
+
+        // Ordenação por votos vira ordenação pela coluna score
+        Page<ComentarioDto> pagina = comentarioService.getComentariosPorCriterioEProfessor(professorId, criterioId, null, null,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "votosPositivos")));
+
+        assertEquals(List.of(comentarioId, menosVotado.getId()), pagina.getContent().stream().map(ComentarioDto::getId).toList());
+        assertEquals(List.of(1, -1), pagina.getContent().stream().map(ComentarioDto::getScore).toList());
+    }
+
+    private static ComentarioVoteRequest voto(String tipo) {
+        ComentarioVoteRequest request = new ComentarioVoteRequest();
+        request.setType(tipo);
+        return request;
+    }
+
+    private static void autenticar(User user) {
+        UserPrincipal principal = new UserPrincipal(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,177 @@
+package com.unihub.app.service;
+
+import com.unihub.app.dto.ComentarioDto;
+import com.unihub.app.dto.ComentarioVoteRequest;
+import com.unihub.app.entity.*;
+import com.unihub.app.repository.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // cada voto precisa commitar na sua própria transação
+@Import({ComentarioService.class, CurrentUserService.class})
+class ComentarioVoteConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int UPVOTES = 1500;
+    private static final int DOWNVOTES = 500;
+
+    @Autowired
+    private ComentarioService comentarioService;
+
+    @Autowired
+    private ComentarioRepository comentarioRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private CadeiraRepository cadeiraRepository;
+
+    @Autowired
+    private ProfessorRepository professorRepository;
+
+    @Autowired
+    private CriterioRepository criterioRepository;
+
+    @Autowired
+    private AvaliacaoRepository avaliacaoRepository;
+
+    @Autowired
+    private TopComentarioRepository topComentarioRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // O banco não é recriado entre os testes desta classe (não há rollback), então os nomes precisam ser únicos
+    private static int sequencia;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void voteOnComentario_parallelVotes_areAllCounted() throws Exception {
+        Long comentarioId = criarComentario();
+        List<User> eleitores = new ArrayList<>();
+        for (int i = 0; i < UPVOTES + DOWNVOTES; i++) {
+            eleitores.add(new User("eleitor" + i, "eleitor" + i + "@x.com", "hash"));
+        }
+        eleitores = userRepository.saveAll(eleitores);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> votos = new ArrayList<>();
+        for (int i = 0; i < UPVOTES + DOWNVOTES; i++) {
+            String tipo = i % 4 == 3 ? "DOWNVOTE" : "UPVOTE";
+            User eleitor = eleitores.get(i);
+            votos.add(executor.submit(() -> {
+                largada.await();
+                autenticar(eleitor);
+                try {
+                    comentarioService.voteOnComentario(comentarioId, voto(tipo));
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> voto : votos) {
+            voto.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        Comentario comentario = comentarioRepository.findById(comentarioId).orElseThrow();
+        assertEquals(UPVOTES, comentario.getVotosPositivos());
+        assertEquals(DOWNVOTES, comentario.getVotosNegativos());
+        assertEquals(UPVOTES - DOWNVOTES, comentario.getScore());
+    }
+
+    @Test
+    void voteOnComentario_sameUser_isIdempotentSwitchableAndRetractable() {
+        Long comentarioId = criarComentario();
+        autenticar(userRepository.save(new User("eleitor_unico", "eleitor_unico@x.com", "hash")));
+
+        comentarioService.voteOnComentario(comentarioId, voto("UPVOTE"));
+        ComentarioDto dto = comentarioService.voteOnComentario(comentarioId, voto("UPVOTE"));
+        assertEquals(1, dto.getVotosPositivos());
+        assertEquals(0, dto.getVotosNegativos());
+        assertEquals("UPVOTE", dto.getUserVoteType());
+
+        dto = comentarioService.voteOnComentario(comentarioId, voto("DOWNVOTE"));
+        assertEquals(0, dto.getVotosPositivos());
+        assertEquals(1, dto.getVotosNegativos());
+        assertEquals(-1, dto.getScore());
+        assertEquals("DOWNVOTE", dto.getUserVoteType());
+
+        dto = comentarioService.retractVote(comentarioId);
+        assertEquals(0, dto.getVotosPositivos());
+        assertEquals(0, dto.getVotosNegativos());
+        assertNull(dto.getUserVoteType());
+
+        dto = comentarioService.retractVote(comentarioId);
+        assertEquals(0, dto.getVotosNegativos());
+    }
+
+    private static ComentarioVoteRequest voto(String tipo) {
+        ComentarioVoteRequest request = new ComentarioVoteRequest();
+        request.setType(tipo);
+        return request;
+    }
+
+    private static void autenticar(User user) {
+        UserPrincipal principal = new UserPrincipal(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    /**
+     * Professor, cadeira e critério novos com uma avaliação comentada; o slot de principal comentário é criado
+     * como em AvaliacaoService.createAvaliacao, para que os votos também o reapontem.
+     */
+    private Long criarComentario() {
+        int id = ++sequencia;
+        Curso curso = cursoRepository.save(new Curso("Curso Votos " + id));
+        Cadeira cadeira = cadeiraRepository.save(new Cadeira("Cadeira Votos " + id, 60, false, curso));
+        Professor professor = new Professor("Professor Votos " + id, null);
+        professor.getCadeiras().add(cadeira);
+        professor = professorRepository.save(professor);
+        Criterio criterio = criterioRepository.save(new Criterio("Criterio Votos " + id));
+        User autor = userRepository.save(new User("autor_votos" + id, "autor_votos" + id + "@x.com", "hash"));
+        Long professorId = professor.getId();
+        Long criterioId = criterio.getId();
+
+        Avaliacao avaliacao = new Avaliacao("2024.1", autor, professor, cadeira);
+        avaliacao.addNotaCriterio(new NotaCriterio(avaliacao, criterio, 5));
+        avaliacao.addComentario(new Comentario("Muito bom", avaliacao, criterio));
+        avaliacao = avaliacaoRepository.save(avaliacao);
+        Long comentarioId = avaliacao.getComentarios().iterator().next().getId();
+        transactionTemplate.executeWithoutResult(status ->
+                topComentarioRepository.inserirSlotSeAusente(professorId, criterioId, comentarioId));
+        return comentarioId;
+    }
+}
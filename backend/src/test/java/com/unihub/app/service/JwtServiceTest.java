@@ -10,9 +10,11 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class JwtServiceTest {
 
+    private static final String SECRET = "hx6jujeSmEd8BVcGZiI9FP8cenRrIK+wNxEE29TDrnw=";
+
     @Test
     void generateToken_containsSubjectAndClaims_andValidates() {
-        JwtService jwtService = new JwtService();
+        JwtService jwtService = new JwtService(SECRET);
 
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", 123L);
@@ -41,4 +43,20 @@ class JwtServiceTest {
         User other = new User("someone@else.com", "password", java.util.Collections.emptyList());
         assertFalse(jwtService.validateToken(token, other));
     }
+
+    @Test
+    void tokensAreAcceptedByAnotherInstanceWithTheSameSecret() {
+        String token = new JwtService(SECRET).generateToken(null, "user@example.com");
+
+        assertEquals("user@example.com", new JwtService(SECRET).extractUserName(token));
+    }
+
+    @Test
+    void refusesToStartWithoutAStrongSecret() {
+        assertThrows(IllegalStateException.class, () -> new JwtService(""));
+        assertThrows(IllegalStateException.class, () -> new JwtService(null));
+        // 16 bytes: abaixo do mínimo do HS256
+        assertThrows(IllegalStateException.class, () -> new JwtService("MDEyMzQ1Njc4OWFiY2RlZg=="));
+        assertThrows(IllegalStateException.class, () -> new JwtService("não é base64!"));
+    }
 }
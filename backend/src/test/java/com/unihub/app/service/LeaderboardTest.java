@@ -0,0 +1,73 @@
+package com.unihub.app.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LeaderboardTest {
+
+    private static final double MEDIA_PRIOR = 3.0;
+    private static final double PESO_PRIOR = 10;
+
+    @Test
+    void top_ordersByNotaThenTotalThenId_andReplacesUpdatedPositions() {
+        Leaderboard ranking = new Leaderboard();
+        ranking.atualizar(posicao(1, "4.00", 10));
+        ranking.atualizar(posicao(2, "4.50", 3));
+        ranking.atualizar(posicao(3, "4.00", 20));
+        ranking.atualizar(posicao(4, "4.00", 20));
+
+        assertEquals(List.of(2L, 3L, 4L, 1L), ids(ranking.top(10, Leaderboard.Modo.NOTA)));
+
+        ranking.atualizar(posicao(1, "5.00", 11));
+        ranking.remover(3);
+
+        assertEquals(List.of(1L, 2L), ids(ranking.top(2, Leaderboard.Modo.NOTA)));
+        assertEquals(3, ranking.tamanho());
+    }
+
+    @Test
+    void ponderada_keepsFewReviewsBelowManyGoodOnes_andSkipsUnrated() {
+        Leaderboard ranking = new Leaderboard();
+        ranking.atualizar(posicao(1, "5.00", 1));
+        ranking.atualizar(posicao(2, "4.60", 500));
+        ranking.atualizar(posicao(3, "0.00", 0));
+
+        assertEquals(List.of(1L, 2L, 3L), ids(ranking.top(10, Leaderboard.Modo.NOTA)));
+        assertEquals(List.of(2L, 1L), ids(ranking.top(10, Leaderboard.Modo.PONDERADA)));
+    }
+
+    @Test
+    void atualizar_concurrentUpdatesLeaveOnePositionPerProfessor() throws Exception {
+        Leaderboard ranking = new Leaderboard();
+        int professores = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (int i = 0; i < 4000; i++) {
+            long professorId = i % professores;
+            int total = i;
+            tarefas.add(executor.submit(() -> ranking.atualizar(posicao(professorId, "3.00", total))));
+        }
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(professores, ranking.tamanho());
+        assertEquals(professores, ranking.top(1000, Leaderboard.Modo.NOTA).size());
+        assertEquals(professores, ranking.top(1000, Leaderboard.Modo.PONDERADA).size());
+    }
+
+    private static Leaderboard.Posicao posicao(long professorId, String nota, long totalAvaliacoes) {
+        return Leaderboard.posicao(professorId, new BigDecimal(nota), totalAvaliacoes, MEDIA_PRIOR, PESO_PRIOR);
+    }
+
+    private static List<Long> ids(List<Leaderboard.Posicao> posicoes) {
+        return posicoes.stream().map(Leaderboard.Posicao::professorId).toList();
+    }
+}
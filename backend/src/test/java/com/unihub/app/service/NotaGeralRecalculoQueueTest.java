@@ -0,0 +1,81 @@
+package com.unihub.app.service;
+
+import com.unihub.app.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotaGeralRecalculoQueueTest {
+
+    @Mock
+    private ProfessorService professorService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private NotaGeralRecalculoQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new NotaGeralRecalculoQueue(professorService, 2, meterRegistry);
+    }
+
+    @Test
+    void agendar_burstForOneProfessor_collapsesIntoOneRecalculation() {
+        for (int i = 0; i < 200; i++) {
+            queue.agendar(1L);
+        }
+        queue.agendar(2L);
+        assertEquals(2.0, profundidade());
+
+        assertEquals(2, queue.processarPendentes());
+
+        verify(professorService, times(1)).calculateAndUpdateNotaGeral(1L);
+        verify(professorService, times(1)).calculateAndUpdateNotaGeral(2L);
+        assertEquals(0.0, profundidade());
+        assertEquals(0, queue.processarPendentes());
+    }
+
+    @Test
+    void processarPendentes_drainsInBatchesAndSurvivesFailures() {
+        when(professorService.calculateAndUpdateNotaGeral(1L)).thenThrow(new ResourceNotFoundException("Professor", "id", 1L));
+        when(professorService.calculateAndUpdateNotaGeral(2L)).thenThrow(new IllegalStateException("falha"));
+        queue.agendar(1L);
+        queue.agendar(2L);
+        queue.agendar(3L);
+
+        // Lote de 2: o terceiro fica para o próximo ciclo, e as falhas não interrompem o lote
+        assertEquals(2, queue.processarPendentes());
+        assertEquals(1.0, profundidade());
+        assertEquals(1, queue.processarPendentes());
+
+        verify(professorService).calculateAndUpdateNotaGeral(1L);
+        verify(professorService).calculateAndUpdateNotaGeral(2L);
+        verify(professorService).calculateAndUpdateNotaGeral(3L);
+        assertEquals(0.0, profundidade());
+    }
+
+    @Test
+    void agendar_duringRecalculation_requeuesTheProfessor() {
+        when(professorService.calculateAndUpdateNotaGeral(1L)).thenAnswer(inv -> {
+            // Nova avaliação confirmada enquanto a nota anterior é recalculada
+            queue.agendar(1L);
+            return null;
+        });
+        queue.agendar(1L);
+
+        queue.processarPendentes();
+
+        assertEquals(1.0, profundidade());
+    }
+
+    private double profundidade() {
+        return meterRegistry.get(NotaGeralRecalculoQueue.METRIC_NAME).gauge().value();
+    }
+}
@@ -0,0 +1,54 @@
+package com.unihub.app.service;
+
+import com.unihub.app.entity.Cadeira;
+import com.unihub.app.entity.Curso;
+import com.unihub.app.entity.Professor;
+import com.unihub.app.exception.ResourceNotFoundException;
+import com.unihub.app.repository.ProfessorRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ProfessorService.class, ProfessorLeaderboard.class, ProfessorSearchIndex.class})
+class ProfessorCadeiraLinkTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ProfessorService professorService;
+
+    @Autowired
+    private ProfessorRepository professorRepository;
+
+    @Test
+    void addAndRemoveCadeira_changeOnlyTheJoinRowAndTheEtag() {
+        Curso curso = em.persist(new Curso("Curso Vinculo"));
+        Professor professor = new Professor("Professor Vinculo", null);
+        professor.getCadeiras().add(em.persist(new Cadeira("Cadeira lecionada", 60, false, curso)));
+        Long professorId = em.persist(professor).getId();
+        Long cadeiraId = em.persist(new Cadeira("Cadeira avulsa", 60, false, curso)).getId();
+        em.flush();
+        em.clear();
+        String etag = professorService.getProfessorDetailsEtag(professorId);
+
+        assertEquals(2, professorService.addCadeiraToProfessor(professorId, cadeiraId).getCadeiras().size());
+        assertTrue(professorRepository.lecionaCadeira(professorId, cadeiraId));
+        // Vincular de novo não duplica nem falha
+        assertEquals(2, professorService.addCadeiraToProfessor(professorId, cadeiraId).getCadeiras().size());
+        assertNotEquals(etag, professorService.getProfessorDetailsEtag(professorId));
+
+        assertEquals(1, professorService.removeCadeiraFromProfessor(professorId, cadeiraId).getCadeiras().size());
+        assertFalse(professorRepository.lecionaCadeira(professorId, cadeiraId));
+        assertThrows(ResourceNotFoundException.class, () -> professorService.addCadeiraToProfessor(professorId, -1L));
+    }
+}
@@ -0,0 +1,112 @@
+package com.unihub.app.service;
+
+import com.unihub.app.dto.ProfessorPublicDto;
+import com.unihub.app.entity.*;
+import com.unihub.app.exception.BadRequestException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ProfessorService.class, ProfessorLeaderboard.class, ProfessorSearchIndex.class})
+class ProfessorLeaderboardTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProfessorService professorService;
+
+    @Autowired
+    private ProfessorLeaderboard professorLeaderboard;
+
+    private Statistics statistics;
+    private Cadeira cadeira;
+    private Criterio criterio;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Curso curso = em.persist(new Curso("Curso Ranking"));
+        cadeira = em.persist(new Cadeira("Cadeira Ranking", 60, false, curso));
+        criterio = em.persist(new Criterio("Criterio Ranking"));
+    }
+
+    @Test
+    void getTopProfessores_isServedFromTheLoadedLeaderboard() {
+        // Média a priori (105 / 41 ≈ 2.56) puxada pelo professor fraco: uma única nota 5 fica abaixo de vinte notas 4
+        Long umaNotaMaxima = criarProfessor("Uma nota máxima", 5, 1);
+        Long muitasBoas = criarProfessor("Muitas boas", 4, 20);
+        Long fraco = criarProfessor("Fraco", 1, 20);
+        professorLeaderboard.carregar();
+        em.clear();
+
+        statistics.clear();
+        List<ProfessorPublicDto> porNota = professorService.getTopProfessores(3, null, null, null);
+        List<ProfessorPublicDto> ponderada = professorService.getTopProfessores(3, null, null, "ponderada");
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        assertEquals(List.of(umaNotaMaxima, muitasBoas, fraco), ids(porNota));
+        assertEquals(new BigDecimal("5.00"), porNota.get(0).getNotaGeral());
+        assertEquals(List.of(muitasBoas, umaNotaMaxima, fraco), ids(ponderada));
+        assertEquals(new BigDecimal("4.00"), ponderada.get(0).getNotaGeral());
+
+        assertEquals(List.of(muitasBoas, umaNotaMaxima),
+                ids(professorService.getTopProfessores(2, null, "2024.1", "ponderada")));
+        assertTrue(professorService.getTopProfessores(5, null, "1999.1", null).isEmpty());
+
+        assertThrows(BadRequestException.class,
+                () -> professorService.getTopProfessores(5, null, null, "aleatorio"));
+    }
+
+    /**
+     * Professor com {@code totalAvaliacoes} avaliações de nota {@code nota} no período 2024.1, com o rollup
+     * dessas notas e a nota geral já recalculada.
+     */
+    private Long criarProfessor(String nome, int nota, int totalAvaliacoes) {
+        Professor professor = new Professor(nome, null);
+        professor.getCadeiras().add(cadeira);
+        em.persist(professor);
+        for (int i = 0; i < totalAvaliacoes; i++) {
+            String username = nome.replace(' ', '_') + i;
+            User user = em.persist(new User(username, username + "@x.com", "hash"));
+            Avaliacao avaliacao = new Avaliacao("2024.1", user, professor, cadeira);
+            avaliacao.addNotaCriterio(new NotaCriterio(avaliacao, criterio, nota));
+            em.persist(avaliacao);
+        }
+        NotaRollup rollup = new NotaRollup();
+        rollup.setProfessor(professor);
+        rollup.setCadeira(cadeira);
+        rollup.setCriterio(criterio);
+        rollup.setPeriodo("2024.1");
+        rollup.setSomaNotas((long) nota * totalAvaliacoes);
+        rollup.setTotalNotas((long) totalAvaliacoes);
+        em.persist(rollup);
+        em.flush();
+        professorService.calculateAndUpdateNotaGeral(professor.getId());
+        em.flush();
+        return professor.getId();
+    }
+
+    private static List<Long> ids(List<ProfessorPublicDto> professores) {
+        return professores.stream().map(ProfessorPublicDto::getId).toList();
+    }
+}
@@ -0,0 +1,57 @@
+package com.unihub.app.service;
+
+import com.unihub.app.dto.ProfessorPublicDto;
+import com.unihub.app.entity.Professor;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ProfessorService.class, ProfessorLeaderboard.class, ProfessorSearchIndex.class})
+class ProfessorSearchTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProfessorService professorService;
+
+    @Autowired
+    private ProfessorSearchIndex professorSearchIndex;
+
+    @Test
+    void searchProfessoresByNome_usesTheIndexAndLoadsOnlyThePage() {
+        Long joao = em.persist(new Professor("João Gonçalves Teixeira", null)).getId();
+        Long joana = em.persist(new Professor("Joana Gonçalves Teixeira", null)).getId();
+        em.flush();
+        professorSearchIndex.carregar();
+        em.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Page<ProfessorPublicDto> pagina = professorService.searchProfessoresByNome("goncalves teix", PageRequest.of(0, 1));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, pagina.getTotalElements());
+        assertEquals(joana, pagina.getContent().get(0).getId());
+
+        pagina = professorService.searchProfessoresByNome("joao goncalvez", PageRequest.of(0, 10));
+        assertEquals(joao, pagina.getContent().get(0).getId());
+        assertEquals("João Gonçalves Teixeira", pagina.getContent().get(0).getNomeCompleto());
+    }
+}
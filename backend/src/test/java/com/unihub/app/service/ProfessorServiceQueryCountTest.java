@@ -0,0 +1,198 @@
+package com.unihub.app.service;
+
+import com.unihub.app.dto.BackendCriterioComMediaDto;
+import com.unihub.app.dto.CadeiraNotaDto;
+import com.unihub.app.dto.ProfessorDetailDto;
+import com.unihub.app.entity.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ProfessorService.class, ProfessorLeaderboard.class, ProfessorSearchIndex.class})
+class ProfessorServiceQueryCountTest {
+
+    private static final long MAX_STATEMENTS = 5;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProfessorService professorService;
+
+    private Statistics statistics;
+    private int sequencia;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getProfessorDetails_statementCountDoesNotGrowWithCadeirasAndCriterios() {
+        Long pequeno = criarProfessorAvaliado(1, 1, 1);
+        Long grande = criarProfessorAvaliado(8, 6, 3);
+        em.flush();
+        em.clear();
+
+        long statementsPequeno = contarStatements(pequeno);
+        long statementsGrande = contarStatements(grande);
+
+        assertTrue(statementsGrande <= MAX_STATEMENTS,
+                "getProfessorDetails executou " + statementsGrande + " statements");
+        assertEquals(statementsPequeno, statementsGrande);
+    }
+
+    @Test
+    void getProfessorDetails_returnsAggregatesAndTopComentario() {
+        Long professorId = criarProfessorAvaliado(2, 2, 2);
+        em.flush();
+        em.clear();
+
+        ProfessorDetailDto dto = professorService.getProfessorDetails(professorId);
+
+        assertEquals(2, dto.getCadeiras().size());
+        for (CadeiraNotaDto cadeiraNota : dto.getCadeiraNotas()) {
+            assertEquals(2L, cadeiraNota.getTotalAvaliacoes());
+            assertEquals(new BigDecimal("3.00"), cadeiraNota.getNotaMedia());
+        }
+
+        List<BackendCriterioComMediaDto> doProfessor = dto.getCriteriosComMedias().stream()
+                .filter(c -> c.getTopComentario() != null)
+                .toList();
+        assertEquals(2, doProfessor.size());
+        for (BackendCriterioComMediaDto criterio : doProfessor) {
+            assertEquals(new BigDecimal("3.00"), criterio.getMediaNotas());
+            // O comentário da última avaliação de cada critério é o mais votado
+            assertEquals(4, criterio.getTopComentario().getScore());
+        }
+    }
+
+    @Test
+    void calculateAndUpdateNotaGeral_usesRollups() {
+        Long professorId = criarProfessorAvaliado(2, 3, 2);
+        em.flush();
+        em.clear();
+
+        assertEquals(new BigDecimal("3.00"), professorService.calculateAndUpdateNotaGeral(professorId));
+    }
+
+    @Test
+    void getProfessorDetailsEtag_isStableAndChangesWithTheDetails() {
+        Long professorId = criarProfessorAvaliado(1, 1, 1);
+        em.flush();
+        em.clear();
+
+        String etag = professorService.getProfessorDetailsEtag(professorId);
+        assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+        assertEquals(etag, professorService.getProfessorDetailsEtag(professorId));
+
+        // Um critério novo aparece nos detalhes (com média zero), então a ETag precisa mudar
+        em.persist(new Criterio("Criterio novo " + sequencia));
+        em.flush();
+        assertNotEquals(etag, professorService.getProfessorDetailsEtag(professorId));
+    }
+
+    private long contarStatements(Long professorId) {
+        em.clear();
+        statistics.clear();
+        ProfessorDetailDto dto = professorService.getProfessorDetails(professorId);
+        assertNotNull(dto);
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Cria um professor com {@code totalCadeiras} cadeiras e {@code totalCriterios} critérios próprios,
+     * e {@code avaliacoesPorCadeira} avaliações por cadeira com notas de 2 e 4 alternadas e um comentário por critério.
+     * O comentário da n-ésima avaliação recebe n votos positivos.
+     */
+    private Long criarProfessorAvaliado(int totalCadeiras, int totalCriterios, int avaliacoesPorCadeira) {
+        int id = ++sequencia;
+        Curso curso = em.persist(new Curso("Curso " + id));
+        Professor professor = new Professor("Professor " + id, null);
+
+        List<Cadeira> cadeiras = new ArrayList<>();
+        for (int i = 0; i < totalCadeiras; i++) {
+            Cadeira cadeira = em.persist(new Cadeira("Cadeira " + id + "." + i, 60, false, curso));
+            cadeiras.add(cadeira);
+            professor.getCadeiras().add(cadeira);
+        }
+        em.persist(professor);
+
+        List<Criterio> criterios = new ArrayList<>();
+        for (int i = 0; i < totalCriterios; i++) {
+            criterios.add(em.persist(new Criterio("Criterio " + id + "." + i)));
+        }
+
+        // Mesmos rollups e slots que createAvaliacao mantém com upserts que o H2 não executa
+        // (a gravação em si é verificada contra PostgreSQL em AvaliacaoRollupPostgresTest)
+        Map<Criterio, Comentario> maisVotados = new HashMap<>();
+        int avaliacao = 0;
+        for (Cadeira cadeira : cadeiras) {
+            Map<Criterio, NotaRollup> rollups = new HashMap<>();
+            for (int a = 0; a < avaliacoesPorCadeira; a++) {
+                avaliacao++;
+                User user = em.persist(new User("u" + id + "_" + avaliacao, "u" + id + "_" + avaliacao + "@x.com", "hash"));
+                Avaliacao av = new Avaliacao("2024.1", user, professor, cadeira);
+                for (Criterio criterio : criterios) {
+                    int nota = avaliacao % 2 == 0 ? 4 : 2;
+                    av.addNotaCriterio(new NotaCriterio(av, criterio, nota));
+                    Comentario comentario = new Comentario("Comentário " + avaliacao, av, criterio);
+                    comentario.setVotosPositivos(avaliacao);
+                    av.addComentario(comentario);
+                    maisVotados.put(criterio, comentario);
+
+                    NotaRollup rollup = rollups.computeIfAbsent(criterio, c -> novoRollup(professor, cadeira, c));
+                    rollup.setSomaNotas(rollup.getSomaNotas() + nota);
+                    rollup.setTotalNotas(rollup.getTotalNotas() + 1);
+                }
+                em.persist(av);
+            }
+            rollups.values().forEach(em::persist);
+            AvaliacaoRollup porCadeira = new AvaliacaoRollup();
+            porCadeira.setProfessor(professor);
+            porCadeira.setCadeira(cadeira);
+            porCadeira.setTotalAvaliacoes((long) avaliacoesPorCadeira);
+            em.persist(porCadeira);
+        }
+        maisVotados.forEach((criterio, comentario) -> {
+            TopComentario slot = new TopComentario();
+            slot.setProfessor(professor);
+            slot.setCriterio(criterio);
+            slot.setComentario(comentario);
+            em.persist(slot);
+        });
+        em.flush();
+        return professor.getId();
+    }
+
+    private static NotaRollup novoRollup(Professor professor, Cadeira cadeira, Criterio criterio) {
+        NotaRollup rollup = new NotaRollup();
+        rollup.setProfessor(professor);
+        rollup.setCadeira(cadeira);
+        rollup.setCriterio(criterio);
+        rollup.setPeriodo("2024.1");
+        return rollup;
+    }
+}
@@ -0,0 +1,147 @@
+package com.unihub.app.service;
+
+import com.unihub.app.dto.AvaliacaoPublicDto;
+import com.unihub.app.dto.CriterioProfessorDetailDto;
+import com.unihub.app.dto.HistoricoAvaliacaoCriterioDto;
+import com.unihub.app.entity.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PublicQueryService.class, AvaliacaoPublicaService.class})
+class PublicQueryServiceTest {
+
+    private static final long MAX_STATEMENTS = 5;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PublicQueryService publicQueryService;
+
+    @Autowired
+    private AvaliacaoPublicaService avaliacaoPublicaService;
+
+    private Statistics statistics;
+    private int sequencia;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getCriterioProfessorDetails_returnsPagedHistoryWithMatchingComentario() {
+        Criterio criterio = em.persist(new Criterio("Didática"));
+        Criterio outro = em.persist(new Criterio("Pontualidade"));
+        Professor professor = criarProfessorAvaliado(criterio, outro, 3);
+        em.flush();
+        em.clear();
+
+        CriterioProfessorDetailDto dto = publicQueryService.getCriterioProfessorDetails(
+                criterio.getId(), professor.getId(), PageRequest.of(0, 2));
+
+        assertEquals(3, dto.getHistoricoAvaliacoes().getTotalElements());
+        List<HistoricoAvaliacaoCriterioDto> linhas = dto.getHistoricoAvaliacoes().getContent();
+        assertEquals(2, linhas.size());
+        assertEquals("2024.3", linhas.get(0).getPeriodo());
+        assertEquals(3, linhas.get(0).getNota());
+        assertEquals("Didática 3", linhas.get(0).getComentario().getTexto());
+        assertEquals(3, linhas.get(0).getComentario().getScore());
+        assertEquals("2024.2", linhas.get(1).getPeriodo());
+        // Só avaliações ímpares têm comentário
+        assertNull(linhas.get(1).getComentario());
+
+        assertEquals(List.of("Didática 3", "Didática 1"),
+                dto.getPrincipaisComentarios().stream().map(c -> c.getTexto()).toList());
+    }
+
+    @Test
+    void getCriterioProfessorDetails_statementCountDoesNotGrowWithHistory() {
+        Criterio criterio = em.persist(new Criterio("Didática"));
+        Criterio outro = em.persist(new Criterio("Pontualidade"));
+        // Ambos com mais de uma página, para que a consulta de contagem rode nos dois casos
+        Professor pequeno = criarProfessorAvaliado(criterio, outro, 12);
+        Professor grande = criarProfessorAvaliado(criterio, outro, 60);
+        em.flush();
+
+        long statementsPequeno = contarStatements(criterio.getId(), pequeno.getId());
+        long statementsGrande = contarStatements(criterio.getId(), grande.getId());
+
+        assertTrue(statementsGrande <= MAX_STATEMENTS,
+                "getCriterioProfessorDetails executou " + statementsGrande + " statements");
+        assertEquals(statementsPequeno, statementsGrande);
+    }
+
+    @Test
+    void carregar_skipsEvaluationsRemovedAfterTheIdQuery() {
+        Criterio criterio = em.persist(new Criterio("Didática"));
+        Criterio outro = em.persist(new Criterio("Pontualidade"));
+        Professor professor = criarProfessorAvaliado(criterio, outro, 2);
+        em.flush();
+        List<Long> ids = em.getEntityManager()
+                .createQuery("SELECT a.id FROM Avaliacao a WHERE a.professor.id = :id ORDER BY a.id", Long.class)
+                .setParameter("id", professor.getId())
+                .getResultList();
+        em.clear();
+
+        // Um id que não existe mais (avaliação removida entre as duas fases) não derruba a página
+        List<AvaliacaoPublicDto> avaliacoes = avaliacaoPublicaService.carregar(List.of(ids.get(1), -1L, ids.get(0)));
+
+        assertEquals(List.of(ids.get(1), ids.get(0)), avaliacoes.stream().map(AvaliacaoPublicDto::getId).toList());
+    }
+
+    private long contarStatements(Long criterioId, Long professorId) {
+        em.clear();
+        statistics.clear();
+        publicQueryService.getCriterioProfessorDetails(criterioId, professorId, PageRequest.of(0, 10));
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Cria um professor com {@code total} avaliações (períodos 2024.1, 2024.2, ...), nota 1 + (n - 1) % 5 no critério
+     * e comentário com n votos positivos nas avaliações ímpares, além de nota e comentário em outro critério.
+     */
+    private Professor criarProfessorAvaliado(Criterio criterio, Criterio outro, int total) {
+        int id = ++sequencia;
+        Curso curso = em.persist(new Curso("Curso " + id));
+        Cadeira cadeira = em.persist(new Cadeira("Cadeira " + id, 60, false, curso));
+        Professor professor = new Professor("Professor " + id, null);
+        professor.getCadeiras().add(cadeira);
+        em.persist(professor);
+
+        for (int n = 1; n <= total; n++) {
+            User user = em.persist(new User("u" + id + "_" + n, "u" + id + "_" + n + "@x.com", "hash"));
+            Avaliacao avaliacao = new Avaliacao("2024." + n, user, professor, cadeira);
+            avaliacao.addNotaCriterio(new NotaCriterio(avaliacao, criterio, 1 + (n - 1) % 5));
+            avaliacao.addNotaCriterio(new NotaCriterio(avaliacao, outro, 1));
+            if (n % 2 == 1) {
+                Comentario comentario = new Comentario("Didática " + n, avaliacao, criterio);
+                comentario.setVotosPositivos(n);
+                avaliacao.addComentario(comentario);
+            }
+            avaliacao.addComentario(new Comentario("Pontualidade " + n, avaliacao, outro));
+            em.persist(avaliacao);
+        }
+        return professor;
+    }
+}
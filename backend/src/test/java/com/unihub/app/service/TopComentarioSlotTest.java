@@ -0,0 +1,100 @@
+package com.unihub.app.service;
+
+import com.unihub.app.dto.ComentarioVoteRequest;
+import com.unihub.app.entity.*;
+import com.unihub.app.repository.TopComentarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ComentarioService.class, CurrentUserService.class})
+class TopComentarioSlotTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ComentarioService comentarioService;
+
+    @Autowired
+    private TopComentarioRepository topComentarioRepository;
+
+    private Professor professor;
+    private Cadeira cadeira;
+    private Criterio criterio;
+
+    @BeforeEach
+    void setUp() {
+        Curso curso = em.persist(new Curso("Curso Principal Comentario"));
+        cadeira = em.persist(new Cadeira("Cadeira Principal Comentario", 60, false, curso));
+        professor = new Professor("Professor Principal Comentario", null);
+        professor.getCadeiras().add(cadeira);
+        em.persist(professor);
+        criterio = em.persist(new Criterio("Criterio Principal Comentario"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void voteOnComentario_repointsTopComentarioSlot() {
+        Long primeiro = avaliarComComentario("autor1", "Muito bom");
+        Long segundo = avaliarComComentario("autor2", "Outro ponto de vista");
+
+        // Empate em score: o mais recente é o principal
+        assertEquals(segundo, principalComentarioId());
+
+        autenticar(em.persistAndFlush(new User("eleitor_top", "eleitor_top@x.com", "hash")));
+        comentarioService.voteOnComentario(primeiro, voto("UPVOTE"));
+        assertEquals(primeiro, principalComentarioId());
+
+        comentarioService.voteOnComentario(primeiro, voto("DOWNVOTE"));
+        assertEquals(segundo, principalComentarioId());
+    }
+
+    /**
+     * Nova avaliação com um comentário no critério; o slot de principal comentário é mantido como em
+     * AvaliacaoService.createAvaliacao.
+     */
+    private Long avaliarComComentario(String autor, String texto) {
+        User user = em.persist(new User(autor, autor + "@x.com", "hash"));
+        Avaliacao avaliacao = new Avaliacao("2024.1", user, professor, cadeira);
+        Comentario comentario = new Comentario(texto, avaliacao, criterio);
+        avaliacao.addComentario(comentario);
+        em.persistAndFlush(avaliacao);
+        topComentarioRepository.inserirSlotSeAusente(professor.getId(), criterio.getId(), comentario.getId());
+        topComentarioRepository.atualizarSlotsDaAvaliacao(avaliacao.getId());
+        return comentario.getId();
+    }
+
+    private Long principalComentarioId() {
+        return topComentarioRepository.findPrincipalComentario(professor.getId(), criterio.getId()).orElseThrow().getId();
+    }
+
+    private static ComentarioVoteRequest voto(String tipo) {
+        ComentarioVoteRequest request = new ComentarioVoteRequest();
+        request.setType(tipo);
+        return request;
+    }
+
+    private static void autenticar(User user) {
+        UserPrincipal principal = new UserPrincipal(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
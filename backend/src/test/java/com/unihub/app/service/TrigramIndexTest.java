@@ -0,0 +1,73 @@
+package com.unihub.app.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+
+    private TrigramIndex indice;
+
+    private List<Long> buscar(String termo) {
+        return indice.buscar(termo, 0, 100).ids();
+    }
+
+    @BeforeEach
+    void setUp() {
+        indice = new TrigramIndex();
+        indice.carregar(Map.of(
+                1L, "João da Silva",
+                2L, "Maria Conceição Souza",
+                3L, "Joana Prado",
+                4L, "Sebastião Oliveira"));
+    }
+
+    @Test
+    void normalizar_removesAccentsCaseAndPunctuation() {
+        assertEquals("joao d avila conceicao", TrigramIndex.normalizar("  JOÃO D'Ávila   Conceição "));
+    }
+
+    @Test
+    void buscar_ignoresAccentsAndMatchesPrefixes() {
+        // "Joana" casa por aproximação, depois do casamento exato
+        assertEquals(List.of(1L, 3L), buscar("joao"));
+        assertEquals(List.of(2L), buscar("CONCEIÇÃO"));
+        // Mesma faixa (nome começando pelo termo): ordem alfabética
+        assertEquals(List.of(3L, 1L), buscar("jo"));
+        assertEquals(List.of(4L), buscar("oliv"));
+        // No meio de uma palavra, como o LIKE '%termo%' anterior
+        assertEquals(List.of(1L), buscar("ilva"));
+    }
+
+    @Test
+    void buscar_toleratesTyposAndWordsInBetween() {
+        assertEquals(List.of(1L), buscar("joao silvq"));
+        assertEquals(List.of(2L), buscar("maria souza"));
+        assertEquals(List.of(4L), buscar("sebastiao olivera"));
+        assertTrue(buscar("xyzw").isEmpty());
+        assertTrue(buscar("  ").isEmpty());
+    }
+
+    @Test
+    void indexar_replacesTheOldNameAndRemoverDropsIt() {
+        indice.indexar(3L, "Joana Albuquerque");
+        assertTrue(buscar("prado").isEmpty());
+        assertEquals(List.of(3L), buscar("albuquerque"));
+
+        indice.indexar(5L, "João Pedro");
+        assertEquals(List.of(1L, 5L), buscar("joão").subList(0, 2));
+
+        // Página a página, com o total de nomes que casam
+        TrigramIndex.Resultado segunda = indice.buscar("joao", 1, 1);
+        assertEquals(List.of(5L), segunda.ids());
+        assertEquals(3, segunda.total());
+
+        indice.remover(1L);
+        assertEquals(List.of(5L, 3L), buscar("joao"));
+        assertEquals(4, indice.tamanho());
+    }
+}